@@ -0,0 +1,177 @@
+package br.com.assistente.pet.desempenho;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Banco H2 em memória (modo MySQL) usado pelos benchmarks.
+ * O esquema é criado pelas mesmas migrações do Flyway da API (db/migration),
+ * e os dados são carregados em volume parecido com o de produção.
+ *
+ * Os IDs gerados são sequenciais a partir de 1, então os benchmarks podem
+ * sortear IDs existentes sem consultar o banco.
+ */
+final class BancoDesempenho implements AutoCloseable {
+
+    // Tamanho de cada lote de INSERT na carga inicial
+    private static final int TAMANHO_LOTE = 5_000;
+
+    // Cada banco recebe um nome próprio, para não misturar dados entre benchmarks
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+    static final int PETS_POR_DONO = 2;
+    static final int VACINAS = 20;
+    static final int CLINICAS = 200;
+    static final int VETERINARIOS = 500;
+
+    // Só é fechado no close() quando o pool foi criado aqui (e não recebido de fora)
+    private final HikariDataSource poolProprio;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private BancoDesempenho(DataSource dataSource, HikariDataSource poolProprio) {
+        this.poolProprio = poolProprio;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Cria o banco vazio, apenas com o esquema das migrações.
+     */
+    static BancoDesempenho criar() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:desempenho" + SEQUENCIA.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(Runtime.getRuntime().availableProcessors() * 2);
+        HikariDataSource dataSource = new HikariDataSource(config);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        return new BancoDesempenho(dataSource, dataSource);
+    }
+
+    /**
+     * Usa um banco que já existe e já foi migrado (ex: o DataSource da API no teste de carga).
+     * O close() não fecha esse DataSource.
+     */
+    static BancoDesempenho sobre(DataSource dataSource) {
+        return new BancoDesempenho(dataSource, null);
+    }
+
+    JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+
+    /**
+     * Carrega os catálogos (vacinas, clínicas, veterinários), os donos e os pets,
+     * e os certificados de vacina de cada pet.
+     *
+     * @param pets Quantidade de pets (há um dono para cada PETS_POR_DONO pets).
+     * @param certificadosPorPet Quantidade de certificados de cada pet.
+     */
+    void carregarPets(int pets, int certificadosPorPet) {
+        inserirEmLotes("INSERT INTO Vacina (nome_vacina, tipo) VALUES (?, ?)", VACINAS,
+                i -> new Object[]{"Vacina " + i, (i % 2 == 0) ? "Viral" : "Bacteriana"});
+
+        inserirEmLotes("INSERT INTO Clinica (nome, email, rua, numero, bairro, cidade, CEP) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                CLINICAS, i -> new Object[]{"Clínica " + i, "clinica" + i + "@exemplo.com", "Rua " + i,
+                        String.valueOf(i), "Centro", "Cidade " + (i % 50), "01000-000"});
+
+        // Veterinários e donos são Pessoas: os primeiros IDs ficam com os veterinários
+        int donos = (pets + PETS_POR_DONO - 1) / PETS_POR_DONO;
+        inserirEmLotes("INSERT INTO Pessoa (nome, cpf, email, senha) VALUES (?, ?, ?, ?)", VETERINARIOS + donos,
+                i -> new Object[]{"Pessoa " + i, String.format("%011d", i), "pessoa" + i + "@exemplo.com", null});
+        inserirEmLotes("INSERT INTO Veterinario (id_pessoa, CRMV) VALUES (?, ?)", VETERINARIOS,
+                i -> new Object[]{i, "CRMV-" + i});
+        inserirEmLotes("INSERT INTO Dono (id_pessoa) VALUES (?)", donos,
+                i -> new Object[]{VETERINARIOS + i});
+        inserirEmLotes("INSERT INTO Pessoa_Telefone (id_pessoa, telefone) VALUES (?, ?)", donos,
+                i -> new Object[]{VETERINARIOS + i, String.format("(11) 9%08d", i)});
+
+        LocalDate base = LocalDate.of(2015, 1, 1);
+        inserirEmLotes("INSERT INTO Pet (nome, especie, raca, data_nasc) VALUES (?, ?, ?, ?)", pets,
+                i -> new Object[]{"Pet " + i, (i % 3 == 0) ? "Gato" : "Cachorro", "Raça " + (i % 40),
+                        Date.valueOf(base.plusDays(i % 3000))});
+        inserirEmLotes("INSERT INTO Possui (id_dono, id_pet) VALUES (?, ?)", pets,
+                i -> new Object[]{idDonoDoPet(i), i});
+
+        // Um em cada 50 pets é animal de serviço (testa o LEFT JOIN do PetRowMapper)
+        inserirEmLotes("INSERT INTO Animal_de_Servico (id_pet, numero_registro_oficial, status) VALUES (?, ?, ?)",
+                pets / 50, i -> new Object[]{i * 50, "REG-" + i, "ATIVO"});
+
+        int certificados = pets * certificadosPorPet;
+        inserirEmLotes("INSERT INTO CertificadoVacina (data_aplicacao, lote, proxima_dose, id_pet, id_vacina, id_veterinario, id_clinica) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)", certificados,
+                i -> {
+                    LocalDate aplicacao = base.plusDays(i % 3000);
+                    return new Object[]{Date.valueOf(aplicacao), "L" + (i % 1000), Date.valueOf(aplicacao.plusYears(1)),
+                            (i - 1) % pets + 1, (i % VACINAS) + 1, (i % VETERINARIOS) + 1, (i % CLINICAS) + 1};
+                });
+    }
+
+    /**
+     * Carrega os treinadores.
+     */
+    void carregarTreinadores(int treinadores) {
+        inserirEmLotes("INSERT INTO Treinador (nome, cpf, numero_certificacao_profissional) VALUES (?, ?, ?)",
+                treinadores, i -> new Object[]{"Treinador " + i, String.format("%011d", i), "CERT-" + i});
+    }
+
+    /**
+     * O dono de um pet da carga inicial (o inverso da distribuição usada em carregarPets).
+     */
+    static int idDonoDoPet(int idPet) {
+        return VETERINARIOS + (idPet - 1) / PETS_POR_DONO + 1;
+    }
+
+    private void inserirEmLotes(String sql, int quantidade, GeradorLinha gerador) {
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 1; i <= quantidade; i++) {
+            lote.add(gerador.linha(i));
+            if (lote.size() == TAMANHO_LOTE) {
+                jdbcTemplate.batchUpdate(sql, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, lote);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (poolProprio != null) {
+            jdbcTemplate.execute("SHUTDOWN");
+            poolProprio.close();
+        }
+    }
+
+    /**
+     * Gera os parâmetros da i-ésima linha (i começa em 1).
+     */
+    @FunctionalInterface
+    private interface GeradorLinha {
+        Object[] linha(int i);
+    }
+}
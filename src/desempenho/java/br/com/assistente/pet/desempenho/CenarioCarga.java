@@ -0,0 +1,77 @@
+package br.com.assistente.pet.desempenho;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Um tipo de requisição do teste de carga (ex: buscar pet por ID), com o seu peso
+ * na mistura e as medições: histograma HDR de latência (em microssegundos),
+ * total de requisições, erros e respostas 503 (sobrecarga do pool de senhas).
+ */
+final class CenarioCarga {
+
+    // Latências de 1 µs a 1 minuto, com 3 dígitos de precisão
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String nome;
+    private final int peso;
+    private final Supplier<HttpRequest> requisicao;
+
+    private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder sobrecargas = new LongAdder();
+
+    CenarioCarga(String nome, int peso, Supplier<HttpRequest> requisicao) {
+        this.nome = nome;
+        this.peso = peso;
+        this.requisicao = requisicao;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    int getPeso() {
+        return peso;
+    }
+
+    HttpRequest novaRequisicao() {
+        return requisicao.get();
+    }
+
+    /**
+     * Registra uma resposta (status < 0 indica falha de conexão ou timeout).
+     */
+    void registrar(long duracaoNanos, int status) {
+        latencias.recordValue(Math.min(LATENCIA_MAXIMA_MICROS, Math.max(1, duracaoNanos / 1_000)));
+        total.increment();
+        if (status == 503) {
+            sobrecargas.increment();
+        }
+        if (status < 200 || status >= 300) {
+            erros.increment();
+        }
+    }
+
+    Histogram getLatencias() {
+        return latencias;
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    long getErros() {
+        return erros.sum();
+    }
+
+    long getSobrecargas() {
+        return sobrecargas.sum();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.assistente.pet.desempenho;
+
+import dao.CertificadoVacinaDAO;
+import model.CertificadoVacina;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks das consultas do CertificadoVacinaDAO (e do mapRowToCertificado).
+ * Com os valores padrão o banco tem 100 mil pets e 1 milhão de certificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CertificadoVacinaDAOBenchmark {
+
+    @Param("100000")
+    public int pets;
+
+    @Param("10")
+    public int certificadosPorPet;
+
+    private BancoDesempenho banco;
+    private CertificadoVacinaDAO certificadoVacinaDAO;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = BancoDesempenho.criar();
+        banco.carregarPets(pets, certificadosPorPet);
+        certificadoVacinaDAO = new CertificadoVacinaDAO(banco.getJdbcTemplate(), banco.getTransactionTemplate());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.close();
+    }
+
+    @Benchmark
+    public List<CertificadoVacina> listarPorPet() {
+        return certificadoVacinaDAO.listarPorPet(ThreadLocalRandom.current().nextInt(1, pets + 1));
+    }
+
+    @Benchmark
+    public CertificadoVacina buscarPorId() {
+        return certificadoVacinaDAO.buscarPorId(ThreadLocalRandom.current().nextInt(1, pets * certificadosPorPet + 1));
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.assistente.pet.desempenho;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades de sistema (-Dcarga.xxx=...).
+ * Os limites definem o resultado do teste: se algum for ultrapassado, o TesteCarga
+ * termina com código de saída 1 (para o pipeline de deploy falhar).
+ */
+final class ConfiguracaoCarga {
+
+    // Volume de dados
+    final int pets = inteiro("carga.pets", 10_000);
+    final int certificadosPorPet = inteiro("carga.certificados-por-pet", 10);
+
+    // Execução
+    final int concorrencia = inteiro("carga.concorrencia", 32);
+    final int aquecimentoSegundos = inteiro("carga.aquecimento-segundos", 15);
+    final int duracaoSegundos = inteiro("carga.duracao-segundos", 60);
+
+    // Espera acrescentada a cada comando SQL, para simular a rede até o MySQL (0 = sem espera)
+    final int latenciaBancoMs = inteiro("carga.latencia-banco-ms", 0);
+
+    // Peso de cada cenário na mistura (0 desliga o cenário)
+    final int pesoBuscarPet = inteiro("carga.peso.buscar-pet", 35);
+    final int pesoPetsDoDono = inteiro("carga.peso.pets-do-dono", 20);
+    final int pesoHistoricoVacinas = inteiro("carga.peso.historico-vacinas", 25);
+    final int pesoSalvarCertificado = inteiro("carga.peso.salvar-certificado", 10);
+    final int pesoSalvarPet = inteiro("carga.peso.salvar-pet", 5);
+    final int pesoLogin = inteiro("carga.peso.login", 5);
+
+    // Limites para aprovar o teste
+    final long limiteP99Ms = inteiro("carga.limite.p99-ms", 250);
+    final double limiteErrosPercentual = decimal("carga.limite.erros-percentual", 1.0);
+    final double minimoRequisicoesPorSegundo = decimal("carga.limite.minimo-rps", 0);
+
+    // Onde gravar os histogramas (.hgrm) e o relatório
+    final String diretorioSaida = System.getProperty("carga.saida", "target/carga");
+
+    private static int inteiro(String nome, int padrao) {
+        return Integer.parseInt(System.getProperty(nome, String.valueOf(padrao)));
+    }
+
+    private static double decimal(String nome, double padrao) {
+        return Double.parseDouble(System.getProperty(nome, String.valueOf(padrao)));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.assistente.pet.desempenho;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Acrescenta uma espera fixa a cada comando SQL executado no DataSource da API.
+ *
+ * O H2 em memória responde em microssegundos, bem mais rápido que um MySQL na rede.
+ * Sem essa espera, o teste de carga mede só CPU e não mostra o efeito de ter muitas
+ * requisições paradas esperando o banco (que é o caso das threads virtuais).
+ * A espera acontece com a conexão em uso, como numa consulta de verdade.
+ */
+final class LatenciaBancoSimulada implements BeanPostProcessor {
+
+    private final long latenciaMillis;
+
+    LatenciaBancoSimulada(long latenciaMillis) {
+        this.latenciaMillis = latenciaMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nomeBean) {
+        if (bean instanceof DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return (Connection) comLatencia(Connection.class, super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String usuario, String senha) throws SQLException {
+                    return (Connection) comLatencia(Connection.class, super.getConnection(usuario, senha));
+                }
+            };
+        }
+        return bean;
+    }
+
+    /**
+     * Envolve a conexão ou o comando em um proxy:
+     * - na conexão, os comandos criados (createStatement, prepareStatement, prepareCall) também são envolvidos;
+     * - no comando, cada execute* espera a latência antes de ir ao banco.
+     */
+    private Object comLatencia(Class<?> tipo, Object alvo) {
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            if (alvo instanceof Statement && metodo.getName().startsWith("execute")) {
+                Thread.sleep(latenciaMillis);
+            }
+            Object resultado = invocar(metodo, alvo, argumentos);
+            if (resultado instanceof Statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                return comLatencia(metodo.getReturnType(), resultado);
+            }
+            return resultado;
+        };
+        return Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Method metodo, Object alvo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
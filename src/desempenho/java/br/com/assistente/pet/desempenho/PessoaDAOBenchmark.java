@@ -0,0 +1,111 @@
+package br.com.assistente.pet.desempenho;
+
+import dao.PessoaDAO;
+import model.Dono;
+import model.Pessoa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark do PessoaDAO.salvar com N telefones.
+ * Compara a gravação atual (telefones em lote, batchUpdate) com a antiga
+ * (um INSERT por telefone), para acompanhar o custo de salvar uma pessoa conforme N cresce.
+ *
+ * Com latenciaBancoMs = 0 o H2 em memória responde em microssegundos e o lote quase não faz diferença.
+ * Com latência (LatenciaBancoSimulada), cada comando SQL custa uma ida ao banco, como no MySQL:
+ * o lote conta como um comando só (executeBatch), que é o que o rewriteBatchedStatements faz no Connector/J.
+ *
+ *   mvn -Pdesempenho compile exec:exec@jmh -Djmh.args="PessoaDAOBenchmark -p latenciaBancoMs=1"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PessoaDAOBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int telefones;
+
+    @Param({"0", "1"})
+    public int latenciaBancoMs;
+
+    private BancoDesempenho bancoPool;
+    private BancoDesempenho banco;
+    private PessoaDAO pessoaDAO;
+
+    // O e-mail é único no banco, então cada pessoa salva recebe um número novo
+    private final AtomicInteger sequencia = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        bancoPool = BancoDesempenho.criar();
+        banco = bancoPool;
+        if (latenciaBancoMs > 0) {
+            DataSource comLatencia = (DataSource) new LatenciaBancoSimulada(latenciaBancoMs)
+                    .postProcessAfterInitialization(bancoPool.getJdbcTemplate().getDataSource(), "dataSource");
+            banco = BancoDesempenho.sobre(comLatencia);
+        }
+        pessoaDAO = new PessoaDAO(banco.getJdbcTemplate());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        // O BancoDesempenho com latência não fecha o pool; quem fecha é o original
+        bancoPool.close();
+    }
+
+    @Benchmark
+    public Pessoa salvarEmLote() {
+        Dono dono = novoDono();
+        return banco.getTransactionTemplate().execute(status -> pessoaDAO.salvar(dono));
+    }
+
+    @Benchmark
+    public Pessoa salvarUmPorUm() {
+        Dono dono = novoDono();
+        return banco.getTransactionTemplate().execute(status -> {
+            List<String> numeros = dono.getTelefones();
+            dono.setTelefones(null);
+            pessoaDAO.salvar(dono);
+            for (String telefone : numeros) {
+                banco.getJdbcTemplate().update("INSERT INTO Pessoa_Telefone (id_pessoa, telefone) VALUES (?, ?)",
+                        dono.getIdPessoa(), telefone);
+            }
+            dono.setTelefones(numeros);
+            return dono;
+        });
+    }
+
+    private Dono novoDono() {
+        int numero = sequencia.incrementAndGet();
+        Dono dono = new Dono();
+        dono.setNome("Dono " + numero);
+        dono.setCpf(String.format("%011d", numero));
+        dono.setEmail("dono" + numero + "@exemplo.com");
+        List<String> numeros = new ArrayList<>(telefones);
+        for (int i = 0; i < telefones; i++) {
+            numeros.add(String.format("(11) 9%04d-%04d", numero % 10_000, i));
+        }
+        dono.setTelefones(numeros);
+        return dono;
+    }
+}
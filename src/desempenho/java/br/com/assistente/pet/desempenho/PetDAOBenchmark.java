@@ -0,0 +1,75 @@
+package br.com.assistente.pet.desempenho;
+
+import dao.PetDAO;
+import model.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks das consultas do PetDAO (e do PetRowMapper, usado por todas elas).
+ * Throughput dá a vazão; SampleTime dá os percentis de latência (p50, p99, ...).
+ * Com "-prof gc" o JMH também mostra a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PetDAOBenchmark {
+
+    @Param("100000")
+    public int pets;
+
+    @Param("100")
+    public int tamanhoPagina;
+
+    private BancoDesempenho banco;
+    private PetDAO petDAO;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = BancoDesempenho.criar();
+        banco.carregarPets(pets, 0);
+        petDAO = new PetDAO(banco.getJdbcTemplate(), banco.getTransactionTemplate());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.close();
+    }
+
+    @Benchmark
+    public Pet buscarPorId() {
+        return petDAO.buscarPorId(petAleatorio());
+    }
+
+    @Benchmark
+    public List<Pet> listarPorDono() {
+        return petDAO.listarPorDono(BancoDesempenho.idDonoDoPet(petAleatorio()));
+    }
+
+    @Benchmark
+    public List<Pet> listarPagina() {
+        return petDAO.listarPagina(petAleatorio() - 1, tamanhoPagina);
+    }
+
+    private int petAleatorio() {
+        return ThreadLocalRandom.current().nextInt(1, pets + 1);
+    }
+}
@@ -0,0 +1,304 @@
+package br.com.assistente.pet.desempenho;
+
+import br.com.assistente.pet.ApiApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Teste de carga HTTP de ponta a ponta da API.
+ * 1. Sobe a ApiApplication com o perfil "carga" (H2 em memória no lugar do MySQL, sem rede).
+ * 2. Carrega os dados (donos, pets, certificados) e cadastra um dono para o login.
+ * 3. Dispara a mistura de cenários (leituras e gravações) com N clientes simultâneos,
+ *    cada um fazendo uma requisição atrás da outra.
+ *    Com -Dcarga.latencia-banco-ms=N cada comando SQL espera N ms (LatenciaBancoSimulada).
+ * 4. Grava os histogramas HDR de latência (target/carga/*.hgrm) e o relatório,
+ *    e termina com código 1 se algum limite da ConfiguracaoCarga foi ultrapassado.
+ *
+ * Rodar:  mvn -Pdesempenho compile exec:exec@carga -Dcarga.args="-Dcarga.concorrencia=64"
+ * Threads do Tomcat x threads virtuais:
+ *         mvn -Pdesempenho compile exec:exec@carga-plataforma exec:exec@carga-virtual
+ */
+public final class TesteCarga {
+
+    private static final String EMAIL_LOGIN = "carga@exemplo.com";
+    private static final String SENHA_LOGIN = "carga-123";
+
+    private final ConfiguracaoCarga config;
+    private final HttpClient cliente;
+    private final String urlBase;
+    private final boolean threadsVirtuais;
+    private String token;
+
+    private TesteCarga(ConfiguracaoCarga config, int porta, boolean threadsVirtuais) {
+        this.config = config;
+        this.threadsVirtuais = threadsVirtuais;
+        this.urlBase = "http://localhost:" + porta;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga config = new ConfiguracaoCarga();
+
+        SpringApplication aplicacao = new SpringApplication(ApiApplication.class);
+        aplicacao.setAdditionalProfiles("carga");
+        if (config.latenciaBancoMs > 0) {
+            aplicacao.addInitializers(contexto -> contexto.getBeanFactory()
+                    .addBeanPostProcessor(new LatenciaBancoSimulada(config.latenciaBancoMs)));
+        }
+        ConfigurableApplicationContext contexto = aplicacao.run(args);
+
+        boolean aprovado;
+        try {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+
+            System.out.printf("Carregando %d pets e %d certificados...%n",
+                    config.pets, config.pets * config.certificadosPorPet);
+            BancoDesempenho.sobre(contexto.getBean(DataSource.class))
+                    .carregarPets(config.pets, config.certificadosPorPet);
+
+            boolean threadsVirtuais = contexto.getEnvironment()
+                    .getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+            TesteCarga teste = new TesteCarga(config, porta, threadsVirtuais);
+            teste.prepararLogin();
+            aprovado = teste.executar();
+        } finally {
+            contexto.close();
+        }
+        System.exit(aprovado ? 0 : 1);
+    }
+
+    /**
+     * Cadastra o dono usado no cenário de login e guarda o token de sessão para os demais cenários.
+     */
+    private void prepararLogin() throws IOException, InterruptedException {
+        String dono = String.format("{\"nome\":\"Dono Carga\",\"cpf\":\"00000000000\",\"email\":\"%s\",\"senha\":\"%s\"}",
+                EMAIL_LOGIN, SENHA_LOGIN);
+        HttpResponse<String> cadastro = cliente.send(post("/api/donos", dono), HttpResponse.BodyHandlers.ofString());
+        if (cadastro.statusCode() != 201) {
+            throw new IllegalStateException("Falha ao cadastrar o dono do teste: HTTP " + cadastro.statusCode());
+        }
+
+        HttpResponse<String> login = cliente.send(requisicaoLogin(), HttpResponse.BodyHandlers.ofString());
+        String autorizacao = login.headers().firstValue(HttpHeaders.AUTHORIZATION).orElse(null);
+        if (login.statusCode() != 200 || autorizacao == null) {
+            throw new IllegalStateException("Falha no login do teste: HTTP " + login.statusCode());
+        }
+        token = autorizacao.substring("Bearer ".length());
+    }
+
+    private List<CenarioCarga> criarCenarios() {
+        List<CenarioCarga> cenarios = new ArrayList<>();
+        adicionar(cenarios, "buscar-pet", config.pesoBuscarPet,
+                () -> get("/api/pets/" + petAleatorio()));
+        adicionar(cenarios, "pets-do-dono", config.pesoPetsDoDono,
+                () -> get("/api/pets/dono/" + BancoDesempenho.idDonoDoPet(petAleatorio())));
+        adicionar(cenarios, "historico-vacinas", config.pesoHistoricoVacinas,
+                () -> get("/api/certificados/pet/" + petAleatorio()));
+        adicionar(cenarios, "salvar-certificado", config.pesoSalvarCertificado,
+                () -> autenticada(post("/api/certificados", String.format(
+                        "{\"dataAplicacao\":\"2024-05-01\",\"lote\":\"CARGA\",\"proximaDose\":\"2025-05-01\","
+                                + "\"idPet\":%d,\"idVacina\":%d,\"idVeterinario\":%d,\"idClinica\":%d}",
+                        petAleatorio(), aleatorio(BancoDesempenho.VACINAS),
+                        aleatorio(BancoDesempenho.VETERINARIOS), aleatorio(BancoDesempenho.CLINICAS)))));
+        adicionar(cenarios, "salvar-pet", config.pesoSalvarPet,
+                () -> autenticada(post("/api/pets", String.format(
+                        "{\"nome\":\"Pet Carga\",\"especie\":\"Cachorro\",\"raca\":\"SRD\","
+                                + "\"dataNascimento\":\"2020-01-01\",\"idDonoTransporte\":%d}",
+                        BancoDesempenho.idDonoDoPet(petAleatorio())))));
+        // Login: sempre passa pelo BCrypt, com ou sem token
+        adicionar(cenarios, "login", config.pesoLogin, this::requisicaoLogin);
+        return cenarios;
+    }
+
+    private static void adicionar(List<CenarioCarga> cenarios, String nome, int peso, Supplier<HttpRequest> requisicao) {
+        if (peso > 0) {
+            cenarios.add(new CenarioCarga(nome, peso, requisicao));
+        }
+    }
+
+    /**
+     * Roda o aquecimento e a medição. Só as respostas recebidas depois do aquecimento entram nos histogramas.
+     *
+     * @return true se todos os limites foram respeitados.
+     */
+    private boolean executar() throws IOException, InterruptedException {
+        List<CenarioCarga> cenarios = criarCenarios();
+        int pesoTotal = cenarios.stream().mapToInt(CenarioCarga::getPeso).sum();
+
+        long inicioMedicao = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.aquecimentoSegundos);
+        long fimMedicao = inicioMedicao + TimeUnit.SECONDS.toNanos(config.duracaoSegundos);
+
+        System.out.printf("Aquecendo por %ds e medindo por %ds com %d clientes simultâneos...%n",
+                config.aquecimentoSegundos, config.duracaoSegundos, config.concorrencia);
+
+        ExecutorService clientes = Executors.newFixedThreadPool(config.concorrencia);
+        for (int i = 0; i < config.concorrencia; i++) {
+            clientes.execute(() -> {
+                while (System.nanoTime() < fimMedicao) {
+                    CenarioCarga cenario = sortear(cenarios, pesoTotal);
+                    long inicio = System.nanoTime();
+                    int status = enviar(cenario.novaRequisicao());
+                    long fim = System.nanoTime();
+                    if (inicio >= inicioMedicao && fim <= fimMedicao) {
+                        cenario.registrar(fim - inicio, status);
+                    }
+                }
+            });
+        }
+        clientes.shutdown();
+        clientes.awaitTermination(config.aquecimentoSegundos + config.duracaoSegundos + 60L, TimeUnit.SECONDS);
+
+        return relatar(cenarios);
+    }
+
+    private int enviar(HttpRequest requisicao) {
+        try {
+            return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static CenarioCarga sortear(List<CenarioCarga> cenarios, int pesoTotal) {
+        int sorteio = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (CenarioCarga cenario : cenarios) {
+            sorteio -= cenario.getPeso();
+            if (sorteio < 0) {
+                return cenario;
+            }
+        }
+        return cenarios.get(cenarios.size() - 1);
+    }
+
+    /**
+     * Imprime e grava o relatório, e verifica os limites.
+     */
+    private boolean relatar(List<CenarioCarga> cenarios) throws IOException {
+        Path saida = Paths.get(config.diretorioSaida);
+        Files.createDirectories(saida);
+
+        StringBuilder relatorio = new StringBuilder();
+        List<String> falhas = new ArrayList<>();
+        long total = 0;
+        long erros = 0;
+
+        relatorio.append(String.format(Locale.ROOT, "%-20s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+                "cenario", "requisicoes", "erros", "503", "req/s", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        for (CenarioCarga cenario : cenarios) {
+            Histogram h = cenario.getLatencias();
+            double p99 = h.getValueAtPercentile(99) / 1000.0;
+            relatorio.append(String.format(Locale.ROOT, "%-20s %10d %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    cenario.getNome(), cenario.getTotal(), cenario.getErros(), cenario.getSobrecargas(),
+                    cenario.getTotal() / (double) config.duracaoSegundos,
+                    h.getValueAtPercentile(50) / 1000.0, p99, h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0));
+
+            try (PrintStream hgrm = new PrintStream(saida.resolve(cenario.getNome() + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                h.outputPercentileDistribution(hgrm, 1000.0); // em milissegundos
+            }
+
+            total += cenario.getTotal();
+            erros += cenario.getErros();
+            if (cenario.getTotal() > 0 && p99 > config.limiteP99Ms) {
+                falhas.add(String.format(Locale.ROOT, "%s: p99 de %.2f ms acima do limite de %d ms",
+                        cenario.getNome(), p99, config.limiteP99Ms));
+            }
+        }
+
+        double rps = total / (double) config.duracaoSegundos;
+        double errosPercentual = (total == 0) ? 100.0 : erros * 100.0 / total;
+        if (errosPercentual > config.limiteErrosPercentual) {
+            falhas.add(String.format(Locale.ROOT, "erros: %.2f%% acima do limite de %.2f%%",
+                    errosPercentual, config.limiteErrosPercentual));
+        }
+        if (rps < config.minimoRequisicoesPorSegundo) {
+            falhas.add(String.format(Locale.ROOT, "vazão: %.1f req/s abaixo do mínimo de %.1f req/s",
+                    rps, config.minimoRequisicoesPorSegundo));
+        }
+
+        relatorio.append(String.format(Locale.ROOT, "%nTotal: %d requisições, %.1f req/s, %.2f%% de erros%n",
+                total, rps, errosPercentual));
+        relatorio.append(String.format(Locale.ROOT, "Clientes: %d | threads virtuais: %s | latência simulada do banco: %d ms%n",
+                config.concorrencia, threadsVirtuais ? "sim" : "não", config.latenciaBancoMs));
+        if (falhas.isEmpty()) {
+            relatorio.append("RESULTADO: APROVADO\n");
+        } else {
+            relatorio.append("RESULTADO: REPROVADO\n");
+            falhas.forEach(falha -> relatorio.append(" - ").append(falha).append('\n'));
+        }
+
+        System.out.println();
+        System.out.print(relatorio);
+        Files.writeString(saida.resolve("relatorio.txt"), relatorio, StandardCharsets.UTF_8);
+        System.out.println("Histogramas HDR em " + saida.toAbsolutePath());
+        return falhas.isEmpty();
+    }
+
+    // --- Requisições ---
+
+    private HttpRequest requisicaoLogin() {
+        return post("/api/pessoas/login", String.format("{\"email\":\"%s\",\"senha\":\"%s\"}", EMAIL_LOGIN, SENHA_LOGIN));
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(urlBase + caminho))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String caminho, String json) {
+        return HttpRequest.newBuilder(URI.create(urlBase + caminho))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest autenticada(HttpRequest requisicao) {
+        return HttpRequest.newBuilder(requisicao, (nome, valor) -> true)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+    }
+
+    private int petAleatorio() {
+        return aleatorio(config.pets);
+    }
+
+    /**
+     * Um ID entre 1 e maximo (os IDs da carga inicial são sequenciais).
+     */
+    private static int aleatorio(int maximo) {
+        return ThreadLocalRandom.current().nextInt(1, maximo + 1);
+    }
+}
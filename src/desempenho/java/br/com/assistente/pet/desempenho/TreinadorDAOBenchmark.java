@@ -0,0 +1,64 @@
+package br.com.assistente.pet.desempenho;
+
+import dao.TreinadorDAO;
+import model.Treinador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks das consultas do TreinadorDAO (e do mapRowToTreinador).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TreinadorDAOBenchmark {
+
+    @Param("10000")
+    public int treinadores;
+
+    @Param("100")
+    public int tamanhoPagina;
+
+    private BancoDesempenho banco;
+    private TreinadorDAO treinadorDAO;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = BancoDesempenho.criar();
+        banco.carregarTreinadores(treinadores);
+        treinadorDAO = new TreinadorDAO(banco.getJdbcTemplate());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.close();
+    }
+
+    @Benchmark
+    public Treinador buscarPorId() {
+        return treinadorDAO.buscarPorId(ThreadLocalRandom.current().nextInt(1, treinadores + 1));
+    }
+
+    @Benchmark
+    public List<Treinador> listarPagina() {
+        return treinadorDAO.listarPagina(ThreadLocalRandom.current().nextInt(0, treinadores), tamanhoPagina);
+    }
+}
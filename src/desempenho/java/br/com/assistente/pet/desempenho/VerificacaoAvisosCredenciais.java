@@ -0,0 +1,74 @@
+package br.com.assistente.pet.desempenho;
+
+import dao.ValidadeCredencialDAO;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.assistente.pet.desempenho.Verificacoes.conferir;
+
+/**
+ * Confere os avisos da varredura de validade das credenciais (Aviso_Credencial), rodando a
+ * varredura dia a dia pelo ValidadeCredencialDAO, como a tarefa VarreduraCredenciais faz:
+ * - cada credencial recebe um só aviso A_VENCER, embora passe por todas as varreduras do prazo de aviso;
+ * - e um só aviso VENCIDA quando vence;
+ * - se a validade é estendida depois do aviso, a validade nova gera um aviso A_VENCER novo.
+ */
+final class VerificacaoAvisosCredenciais {
+
+    private static final int PETS = 500; // 10 animais de serviço (um a cada 50 pets)
+    private static final int AVISO_DIAS = 30;
+    private static final int DIAS_PASSADOS = 30;
+    private static final int DIAS_SIMULADOS = 45;
+    private static final int TAMANHO_BLOCO = 3; // Pequeno, para passar por vários blocos por dia
+
+    void executar() {
+        try (BancoDesempenho banco = BancoDesempenho.criar()) {
+            banco.carregarPets(PETS, 0);
+            banco.carregarTreinadores(1);
+
+            // Uma credencial por animal de serviço, vencendo entre o 5º e o 41º dia da simulação
+            LocalDate primeiroDia = LocalDate.of(2026, 3, 1);
+            List<Object[]> credenciais = new ArrayList<>();
+            for (int i = 1; i <= PETS / 50; i++) {
+                LocalDate validade = primeiroDia.plusDays(1L + 4L * i);
+                credenciais.add(new Object[]{Date.valueOf(validade.minusYears(1)), Date.valueOf(validade), i * 50, 1});
+            }
+            banco.getJdbcTemplate().batchUpdate("INSERT INTO Credencial_Servico (data_emissao, data_validade, id_animal_servico, id_treinador) "
+                    + "VALUES (?, ?, ?, ?)", credenciais);
+
+            ValidadeCredencialDAO dao = new ValidadeCredencialDAO(banco.getJdbcTemplate(), banco.getTransactionTemplate());
+            for (int dia = 0; dia < DIAS_SIMULADOS; dia++) {
+                LocalDate hoje = primeiroDia.plusDays(dia);
+                if (dia == 3) {
+                    // Credencial 1 (animal 50) já avisada: a validade é estendida e fica fora da janela até o dia 36
+                    banco.getJdbcTemplate().update("UPDATE Credencial_Servico SET data_validade = ? WHERE id_credencial = 1",
+                            Date.valueOf(primeiroDia.plusDays(66)));
+                }
+                while (!dao.processarProximoBloco(hoje, hoje.minusDays(DIAS_PASSADOS), hoje.plusDays(AVISO_DIAS), TAMANHO_BLOCO).isVazio()) {
+                    // Processa o dia inteiro
+                }
+            }
+
+            for (Map<String, Object> linha : banco.getJdbcTemplate().queryForList(
+                    "SELECT c.id_credencial, "
+                            + "(SELECT COUNT(*) FROM Aviso_Credencial a WHERE a.id_credencial = c.id_credencial AND a.tipo = 'A_VENCER') a_vencer, "
+                            + "(SELECT COUNT(*) FROM Aviso_Credencial a WHERE a.id_credencial = c.id_credencial AND a.tipo = 'VENCIDA') vencida "
+                            + "FROM Credencial_Servico c ORDER BY c.id_credencial")) {
+                int id = ((Number) linha.get("id_credencial")).intValue();
+                long aVencer = ((Number) linha.get("a_vencer")).longValue();
+                long vencida = ((Number) linha.get("vencida")).longValue();
+                // A credencial 1 foi avisada duas vezes (uma por validade) e não vence dentro da simulação
+                long aVencerEsperado = (id == 1) ? 2 : 1;
+                long vencidaEsperado = (id == 1) ? 0 : 1;
+                conferir(aVencer == aVencerEsperado, "credencial %d: esperava %d aviso(s) A_VENCER, foram %d",
+                        id, aVencerEsperado, aVencer);
+                conferir(vencida == vencidaEsperado, "credencial %d: esperava %d aviso(s) VENCIDA, foram %d",
+                        id, vencidaEsperado, vencida);
+            }
+        }
+    }
+}
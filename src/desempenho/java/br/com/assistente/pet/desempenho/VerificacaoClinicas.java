@@ -0,0 +1,158 @@
+package br.com.assistente.pet.desempenho;
+
+import dao.BaseCoordenadasCep;
+import dao.ClinicaDAO;
+import dao.RegistroCaches;
+import model.Clinica;
+import model.ClinicaProxima;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static br.com.assistente.pet.desempenho.Verificacoes.conferir;
+
+/**
+ * Verificações das coordenadas das clínicas, pelo ClinicaDAO contra o H2:
+ * - clinicas-proximas: a busca das k mais próximas (KD-tree) contra a força bruta, com 20 mil clínicas
+ *   espalhadas pelo globo inteiro (inclusive perto dos polos e da linha de data);
+ * - clinicas-cep: ao mudar o CEP, as coordenadas antigas devolvidas pelo app são refeitas pelo CEP novo,
+ *   e coordenadas novas enviadas pelo app são mantidas.
+ */
+final class VerificacaoClinicas {
+
+    private static final int CLINICAS = 20_000;
+    private static final int SEM_COORDENADAS = 100;
+    private static final int CONSULTAS = 500;
+    private static final int[] VALORES_K = {1, 5, 20};
+
+    // Mesmo raio do IndiceEspacialClinicas
+    private static final double RAIO_TERRA_KM = 6371.0088;
+
+    // A distância da API é arredondada ao metro
+    private static final double TOLERANCIA_KM = 0.002;
+
+    void proximasIgualForcaBruta() {
+        try (BancoDesempenho banco = BancoDesempenho.criar()) {
+            Random aleatorio = new Random(42);
+            List<Object[]> linhas = new ArrayList<>(CLINICAS + SEM_COORDENADAS);
+            List<double[]> coordenadas = new ArrayList<>(CLINICAS);
+            for (int i = 1; i <= CLINICAS + SEM_COORDENADAS; i++) {
+                Double latitude = null;
+                Double longitude = null;
+                if (i <= CLINICAS) {
+                    // Uniforme na esfera (asin), com 6 casas decimais como a coluna DECIMAL(9, 6)
+                    latitude = arredondar(Math.toDegrees(Math.asin(2 * aleatorio.nextDouble() - 1)));
+                    longitude = arredondar(aleatorio.nextDouble() * 360 - 180);
+                    coordenadas.add(new double[]{latitude, longitude});
+                }
+                linhas.add(new Object[]{"Clínica " + i, latitude, longitude});
+            }
+            banco.getJdbcTemplate().batchUpdate("INSERT INTO Clinica (nome, latitude, longitude) VALUES (?, ?, ?)", linhas);
+
+            ClinicaDAO clinicaDAO = novoDAO(banco);
+            double[][] alvos = alvos(aleatorio);
+            for (double[] alvo : alvos) {
+                for (int k : VALORES_K) {
+                    conferirConsulta(clinicaDAO, coordenadas, alvo[0], alvo[1], k);
+                }
+            }
+        }
+    }
+
+    void coordenadasSeguemCep() {
+        try (BancoDesempenho banco = BancoDesempenho.criar()) {
+            ClinicaDAO clinicaDAO = novoDAO(banco);
+
+            Clinica clinica = new Clinica("Clínica CEP", "cep@exemplo.com", "Av. Paulista", "1000", "Bela Vista", "São Paulo", "01310-100");
+            clinicaDAO.salvar(clinica);
+            conferirCoordenadas(clinicaDAO, clinica.getIdClinica(), -23.550520, -46.633309, "salvar com CEP de São Paulo");
+
+            // O app devolve as coordenadas que leu e muda só o CEP
+            Clinica lida = clinicaDAO.buscarPorId(clinica.getIdClinica());
+            lida.setCep("20040-020");
+            lida.setCidade("Rio de Janeiro");
+            clinicaDAO.atualizar(lida);
+            conferirCoordenadas(clinicaDAO, clinica.getIdClinica(), -22.906800, -43.172900, "CEP novo (Rio) com as coordenadas antigas");
+
+            // Mesmo CEP com outra formatação: nada muda
+            lida = clinicaDAO.buscarPorId(clinica.getIdClinica());
+            lida.setCep("20040020");
+            clinicaDAO.atualizar(lida);
+            conferirCoordenadas(clinicaDAO, clinica.getIdClinica(), -22.906800, -43.172900, "mesmo CEP sem hífen");
+
+            // CEP novo com coordenadas novas, enviadas de propósito: são mantidas
+            lida = clinicaDAO.buscarPorId(clinica.getIdClinica());
+            lida.setCep("80010-000");
+            lida.setLatitude(-25.4);
+            lida.setLongitude(-49.3);
+            clinicaDAO.atualizar(lida);
+            conferirCoordenadas(clinicaDAO, clinica.getIdClinica(), -25.4, -49.3, "CEP novo com coordenadas enviadas");
+        }
+    }
+
+    private static ClinicaDAO novoDAO(BancoDesempenho banco) {
+        return new ClinicaDAO(banco.getJdbcTemplate(), new RegistroCaches(1000, 300),
+                new BaseCoordenadasCep(new ClassPathResource("geo/faixas-cep.csv")));
+    }
+
+    private static void conferirConsulta(ClinicaDAO clinicaDAO, List<double[]> coordenadas,
+                                         double latitude, double longitude, int k) {
+        List<ClinicaProxima> proximas = clinicaDAO.listarProximas(latitude, longitude, k);
+        conferir(proximas.size() == k, "(%f, %f) k=%d: vieram %d clínicas", latitude, longitude, k, proximas.size());
+
+        double[] distancias = new double[coordenadas.size()];
+        for (int i = 0; i < coordenadas.size(); i++) {
+            distancias[i] = distanciaKm(latitude, longitude, coordenadas.get(i)[0], coordenadas.get(i)[1]);
+        }
+        Arrays.sort(distancias);
+
+        for (int i = 0; i < k; i++) {
+            ClinicaProxima proxima = proximas.get(i);
+            // A i-ésima da KD-tree está à mesma distância que a i-ésima da força bruta (empates podem trocar a clínica)
+            conferir(Math.abs(proxima.getDistanciaKm() - distancias[i]) <= TOLERANCIA_KM,
+                    "(%f, %f) k=%d posição %d: KD-tree %.3f km, força bruta %.3f km",
+                    latitude, longitude, k, i, proxima.getDistanciaKm(), distancias[i]);
+            // E a distância informada é mesmo a da clínica devolvida
+            Clinica clinica = proxima.getClinica();
+            double real = distanciaKm(latitude, longitude, clinica.getLatitude(), clinica.getLongitude());
+            conferir(Math.abs(proxima.getDistanciaKm() - real) <= TOLERANCIA_KM,
+                    "(%f, %f) clínica %d: informada %.3f km, real %.3f km",
+                    latitude, longitude, clinica.getIdClinica(), proxima.getDistanciaKm(), real);
+        }
+    }
+
+    private static void conferirCoordenadas(ClinicaDAO clinicaDAO, int id, double latitude, double longitude, String caso) {
+        Clinica gravada = clinicaDAO.buscarPorId(id);
+        conferir(gravada.getLatitude() != null && gravada.getLongitude() != null
+                        && Math.abs(gravada.getLatitude() - latitude) < 1e-6 && Math.abs(gravada.getLongitude() - longitude) < 1e-6,
+                "%s: esperava (%f, %f), gravou (%s, %s)", caso, latitude, longitude, gravada.getLatitude(), gravada.getLongitude());
+    }
+
+    // Pontos aleatórios, mais os casos de borda: polos, linha de data e meridiano de Greenwich
+    private static double[][] alvos(Random aleatorio) {
+        List<double[]> alvos = new ArrayList<>(List.of(
+                new double[]{90, 0}, new double[]{-90, 0}, new double[]{89.9, 179.9},
+                new double[]{0, 180}, new double[]{0, -180}, new double[]{10, 179.99}, new double[]{-10, -179.99},
+                new double[]{0, 0}, new double[]{51.4779, -0.0015}, new double[]{-23.55052, -46.633309}));
+        while (alvos.size() < CONSULTAS) {
+            alvos.add(new double[]{Math.toDegrees(Math.asin(2 * aleatorio.nextDouble() - 1)), aleatorio.nextDouble() * 360 - 180});
+        }
+        return alvos.toArray(new double[0][]);
+    }
+
+    // Haversine: fórmula diferente da usada na KD-tree (corda na esfera unitária), de propósito
+    private static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static double arredondar(double grau) {
+        return Math.round(grau * 1_000_000) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.assistente.pet.desempenho;
+
+import br.com.assistente.pet.metricas.MonitorConsultas;
+import br.com.assistente.pet.metricas.RegistroConsultas;
+import dao.PetDAO;
+import model.AnimalDeServico;
+import model.Pet;
+import model.ResumoConsulta;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static br.com.assistente.pet.desempenho.Verificacoes.conferir;
+
+/**
+ * Confere que as consultas do PetDAO (listarTodos, listarPorDono, buscarPorId) mandam
+ * um único comando SQL ao banco, seja qual for o número de pets e de animais de serviço:
+ * o LEFT JOIN com Animal_de_Servico não pode voltar a virar uma consulta por pet no RowMapper.
+ * Os comandos são contados pelo MonitorConsultas, o mesmo proxy do DataSource usado pela API.
+ */
+final class VerificacaoConsultasPet {
+
+    private static final int PETS = 500;
+
+    void executar() {
+        RegistroConsultas registro = new RegistroConsultas(Long.MAX_VALUE);
+        DefaultListableBeanFactory fabrica = new DefaultListableBeanFactory();
+        fabrica.registerSingleton("registroConsultas", registro);
+        MonitorConsultas monitor = new MonitorConsultas(fabrica.getBeanProvider(RegistroConsultas.class), true);
+
+        try (BancoDesempenho banco = BancoDesempenho.criar()) {
+            banco.carregarPets(PETS, 0);
+            DataSource monitorado = (DataSource) monitor.postProcessAfterInitialization(
+                    banco.getJdbcTemplate().getDataSource(), "dataSource");
+            BancoDesempenho bancoMonitorado = BancoDesempenho.sobre(monitorado);
+            PetDAO petDAO = new PetDAO(bancoMonitorado.getJdbcTemplate(), bancoMonitorado.getTransactionTemplate());
+
+            List<Pet> todos = contarUmComando(registro, "listarTodos", petDAO::listarTodos);
+            conferir(todos.size() == PETS, "listarTodos: esperava %d pets, veio %d", PETS, todos.size());
+            long servico = todos.stream().filter(pet -> pet instanceof AnimalDeServico).count();
+            conferir(servico == PETS / 50, "listarTodos: esperava %d animais de serviço, veio %d", PETS / 50, servico);
+
+            int idDono = BancoDesempenho.idDonoDoPet(50);
+            List<Pet> doDono = contarUmComando(registro, "listarPorDono", () -> petDAO.listarPorDono(idDono));
+            conferir(doDono.size() == BancoDesempenho.PETS_POR_DONO, "listarPorDono: esperava %d pets, veio %d",
+                    BancoDesempenho.PETS_POR_DONO, doDono.size());
+
+            Pet servicoPorId = contarUmComando(registro, "buscarPorId (serviço)", () -> petDAO.buscarPorId(50));
+            conferir(servicoPorId instanceof AnimalDeServico, "buscarPorId(50): esperava um AnimalDeServico");
+            Pet comumPorId = contarUmComando(registro, "buscarPorId (comum)", () -> petDAO.buscarPorId(1));
+            conferir(comumPorId != null && !(comumPorId instanceof AnimalDeServico), "buscarPorId(1): esperava um Pet comum");
+        }
+    }
+
+    private static <T> T contarUmComando(RegistroConsultas registro, String consulta, Supplier<T> chamada) {
+        long antes = comandos(registro);
+        T resultado = chamada.get();
+        long executados = comandos(registro) - antes;
+        conferir(executados == 1, "%s: esperava 1 comando SQL, foram %d", consulta, executados);
+        return resultado;
+    }
+
+    private static long comandos(RegistroConsultas registro) {
+        return registro.maisCaros(Integer.MAX_VALUE).stream().mapToLong(ResumoConsulta::getExecucoes).sum();
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.assistente.pet.desempenho;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verificações dos DAOs contra o H2 em memória (mesmo banco dos benchmarks).
+ * Cada verificação confere um comportamento que um benchmark não mostra (ex: o número
+ * de comandos SQL de uma consulta, ou o resultado de um índice contra a força bruta).
+ *
+ * Rodar todas:  mvn -Pdesempenho compile exec:exec@verificacoes
+ * Rodar uma só: mvn -Pdesempenho compile exec:exec@verificacoes -Dverificacoes.args="consultas-pet"
+ *
+ * Termina com código de saída 1 se alguma falhar (para o pipeline de deploy falhar).
+ */
+public final class Verificacoes {
+
+    /**
+     * Uma verificação: lança AssertionError (ou qualquer exceção) se falhar.
+     */
+    @FunctionalInterface
+    interface Verificacao {
+        void executar() throws Exception;
+    }
+
+    private Verificacoes() {
+    }
+
+    private static Map<String, Verificacao> todas() {
+        Map<String, Verificacao> verificacoes = new LinkedHashMap<>();
+        verificacoes.put("consultas-pet", new VerificacaoConsultasPet()::executar);
+        verificacoes.put("clinicas-proximas", new VerificacaoClinicas()::proximasIgualForcaBruta);
+        verificacoes.put("clinicas-cep", new VerificacaoClinicas()::coordenadasSeguemCep);
+        verificacoes.put("avisos-credenciais", new VerificacaoAvisosCredenciais()::executar);
+        return verificacoes;
+    }
+
+    public static void main(String[] args) {
+        Map<String, Verificacao> todas = todas();
+        List<String> nomes = (args.length == 0) ? new ArrayList<>(todas.keySet()) : List.of(args);
+
+        List<String> falhas = new ArrayList<>();
+        for (String nome : nomes) {
+            Verificacao verificacao = todas.get(nome);
+            if (verificacao == null) {
+                System.out.printf("%-24s DESCONHECIDA (opções: %s)%n", nome, todas.keySet());
+                falhas.add(nome);
+                continue;
+            }
+            long inicio = System.nanoTime();
+            try {
+                verificacao.executar();
+                System.out.printf("%-24s OK (%d ms)%n", nome, (System.nanoTime() - inicio) / 1_000_000);
+            } catch (Throwable e) {
+                System.out.printf("%-24s FALHOU: %s%n", nome, e);
+                e.printStackTrace(System.out);
+                falhas.add(nome);
+            }
+        }
+
+        System.out.println(falhas.isEmpty() ? "RESULTADO: APROVADO" : "RESULTADO: REPROVADO " + falhas);
+        System.exit(falhas.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Falha a verificação com a mensagem, se a condição não for verdadeira.
+     */
+    static void conferir(boolean condicao, String mensagem, Object... argumentos) {
+        if (!condicao) {
+            throw new AssertionError(String.format(mensagem, argumentos));
+        }
+    }
+}
@@ -1,22 +1,30 @@
 package br.com.assistente.pet;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal que inicia a API do Spring Boot.
  * Esta classe é o ponto de entrada que "liga" o servidor web.
+ * @EnableScheduling liga as tarefas em segundo plano (pacote tarefas).
  */
 @SpringBootApplication
+@EnableScheduling
 @ComponentScan(basePackages = {"conexãoBD", "dao", "model", "br.com.assistente.pet"})
 public class ApiApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(ApiApplication.class);
+
     public static void main(String[] args) {
         // Esta linha inicia o servidor Tomcat e toda a sua aplicação
-        SpringApplication.run(ApiApplication.class, args);
+        ConfigurableApplicationContext contexto = SpringApplication.run(ApiApplication.class, args);
 
-        System.out.println("\n*** API Meu Assistente Pet iniciada! ***");
-        System.out.println("*** Pronta para receber requisições do app celular em http://localhost:8080 ***\n");
+        log.info("API Meu Assistente Pet iniciada! Pronta para receber requisições do app celular na porta {}",
+                contexto.getEnvironment().getProperty("local.server.port"));
     }
 }
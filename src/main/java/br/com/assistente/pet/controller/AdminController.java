@@ -0,0 +1,59 @@
+package br.com.assistente.pet.controller;
+
+import br.com.assistente.pet.metricas.RegistroConsultas;
+import dao.RegistroCaches;
+import model.ResumoConsulta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST com endpoints de administração e diagnóstico da API.
+ * Não é usado pelo app de celular, apenas pela equipe de operação (papel ADMIN, ver SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/admin") // Todos os métodos aqui começarão com /api/admin
+public class AdminController {
+
+    // Limite do parâmetro 'top' de /api/admin/consultas
+    private static final int TOP_MAXIMO = 100;
+
+    private final RegistroCaches registroCaches;
+    private final RegistroConsultas registroConsultas;
+
+    @Autowired
+    public AdminController(RegistroCaches registroCaches, RegistroConsultas registroConsultas) {
+        this.registroCaches = registroCaches;
+        this.registroConsultas = registroConsultas;
+    }
+
+    /**
+     * Endpoint para CONSULTAR os contadores dos caches de catálogo (Vacina, Habilidade).
+     * Chamada: GET /api/admin/caches
+     *
+     * @return Tamanho, acertos, faltas e remoções de cada cache.
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Map<String, Long>>> estatisticasCaches() {
+        return new ResponseEntity<>(registroCaches.estatisticas(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint para LISTAR os comandos SQL que mais consumiram tempo do banco.
+     * Chamada: GET /api/admin/consultas?top=10
+     * Cada comando aparece pelo fingerprint (o SQL sem os valores), com execuções,
+     * tempo total, médio, máximo e p95 (das últimas execuções).
+     *
+     * @param top Quantos comandos retornar (padrão 10, máximo 100).
+     * @return Os comandos, do maior tempo total para o menor.
+     */
+    @GetMapping("/consultas")
+    public ResponseEntity<List<ResumoConsulta>> consultasMaisCaras(@RequestParam(defaultValue = "10") int top) {
+        int quantidade = Math.max(1, Math.min(top, TOP_MAXIMO));
+        return new ResponseEntity<>(registroConsultas.maisCaros(quantidade), HttpStatus.OK);
+    }
+}
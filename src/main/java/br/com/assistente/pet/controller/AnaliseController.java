@@ -0,0 +1,45 @@
+package br.com.assistente.pet.controller;
+
+import dao.ICoberturaVacinalDAO;
+import model.CoberturaVacinal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST com os endpoints de análise usados pelos parceiros de saúde pública.
+ * As consultas leem apenas tabelas pré-agregadas, nunca as tabelas de certificados.
+ */
+@RestController
+@RequestMapping("/api/analises") // Todos os métodos aqui começarão com /api/analises
+public class AnaliseController {
+
+    private final ICoberturaVacinalDAO coberturaDAO;
+
+    @Autowired
+    public AnaliseController(ICoberturaVacinalDAO coberturaDAO) {
+        this.coberturaDAO = coberturaDAO;
+    }
+
+    /**
+     * Endpoint para CONSULTAR a cobertura vacinal: certificados por vacina, espécie do pet
+     * e cidade da clínica que aplicou.
+     * Chamada: GET /api/analises/cobertura?vacina=1&especie=Cachorro&cidade=Campinas
+     * O custo depende do número de grupos, não do número de certificados.
+     *
+     * @param vacina Filtra pelo ID da vacina, opcional.
+     * @param especie Filtra pela espécie, opcional.
+     * @param cidade Filtra pela cidade da clínica, opcional.
+     * @return As linhas da cobertura, ordenadas por vacina, espécie e cidade.
+     */
+    @GetMapping("/cobertura")
+    public ResponseEntity<List<CoberturaVacinal>> consultarCobertura(@RequestParam(required = false) Integer vacina,
+                                                                     @RequestParam(required = false) String especie,
+                                                                     @RequestParam(required = false) String cidade) {
+        List<CoberturaVacinal> cobertura = coberturaDAO.listar(vacina, especie, cidade);
+        return new ResponseEntity<>(cobertura, HttpStatus.OK);
+    }
+}
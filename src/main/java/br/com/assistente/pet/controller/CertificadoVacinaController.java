@@ -1,7 +1,12 @@
 package br.com.assistente.pet.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import dao.ICertificadoVacinaDAO;
 import model.CertificadoVacina;
+import model.ResultadoLote;
+import model.Visoes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +22,11 @@ import java.util.List;
 @RequestMapping("/api/certificados") // Todos os métodos aqui começarão com /api/certificados
 public class CertificadoVacinaController {
 
+    private static final Logger log = LoggerFactory.getLogger(CertificadoVacinaController.class);
+
+    // Tamanho máximo aceito em uma única chamada de inserção em lote
+    private static final int LIMITE_LOTE = 10000;
+
     private final ICertificadoVacinaDAO certificadoDAO;
 
     @Autowired
@@ -37,20 +47,39 @@ public class CertificadoVacinaController {
             CertificadoVacina salvo = certificadoDAO.salvar(certificado);
             return new ResponseEntity<>(salvo, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("Erro ao salvar certificado: " + e.getMessage());
+            log.error("Erro ao salvar certificado", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Endpoint para SALVAR vários certificados de vacina de uma vez (importação de clínicas).
+     * O sistema da clínica vai chamar: POST /api/certificados/bulk
+     * Um item com erro não impede que os demais sejam salvos.
+     *
+     * @param certificados A lista de certificados de vacina (em JSON).
+     * @return 201 (Created) se todos foram salvos, ou 207 (Multi-Status) com o erro de cada item.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ResultadoLote> salvarCertificadosEmLote(@RequestBody List<CertificadoVacina> certificados) {
+        if (certificados.size() > LIMITE_LOTE) {
+            return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        ResultadoLote resultado = certificadoDAO.salvarEmLote(certificados);
+        HttpStatus status = resultado.getComErro() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(resultado, status);
+    }
+
     /**
      * Endpoint para LISTAR todos os certificados de um pet específico.
      * Esta será uma das funções principais do app.
      * O app de celular vai chamar: GET /api/certificados/pet/1
      *
      * @param idPet O ID do pet.
-     * @return A lista de certificados (histórico de vacinas) daquele pet.
+     * @return A lista de certificados (histórico de vacinas) daquele pet (visão Resumo: sem o ID do pet).
      */
     @GetMapping("/pet/{idPet}")
+    @JsonView(Visoes.Resumo.class)
     public ResponseEntity<List<CertificadoVacina>> listarCertificadosPorPet(@PathVariable int idPet) {
         List<CertificadoVacina> historico = certificadoDAO.listarPorPet(idPet);
         return new ResponseEntity<>(historico, HttpStatus.OK);
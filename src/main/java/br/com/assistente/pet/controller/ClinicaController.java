@@ -2,10 +2,14 @@ package br.com.assistente.pet.controller;
 
 import dao.IClinicaDAO;
 import model.Clinica;
+import model.ClinicaProxima;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,6 +21,14 @@ import java.util.List;
 @RequestMapping("/api/clinicas") // Todos os métodos aqui começarão com /api/clinicas
 public class ClinicaController {
 
+    private static final Logger log = LoggerFactory.getLogger(ClinicaController.class);
+
+    // Limite do parâmetro 'limite' de /api/clinicas/busca
+    private static final int LIMITE_BUSCA_MAXIMO = 50;
+
+    // Limite do parâmetro 'k' de /api/clinicas/proximas
+    private static final int K_MAXIMO = 50;
+
     private final IClinicaDAO clinicaDAO;
 
     @Autowired
@@ -27,17 +39,23 @@ public class ClinicaController {
     /**
      * Endpoint para SALVAR uma nova clínica.
      * O app de celular vai chamar: POST /api/clinicas
+     * Latitude e longitude são obrigatórias (o app pega do mapa ou do GPS): a base de CEP da API
+     * só tem o centro de cada cidade e não serve para ordenar as clínicas de uma mesma cidade.
      *
-     * @param clinica Os dados da clínica (em JSON).
-     * @return A clínica salva (com o ID).
+     * @param clinica Os dados da clínica (em JSON), com latitude e longitude.
+     * @return A clínica salva (com o ID), ou 400 (Bad Request) sem coordenadas válidas.
      */
     @PostMapping
     public ResponseEntity<Clinica> salvarClinica(@RequestBody Clinica clinica) {
+        if (clinica.getLatitude() == null || clinica.getLongitude() == null
+                || !coordenadasValidas(clinica.getLatitude(), clinica.getLongitude())) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         try {
             Clinica clinicaSalva = clinicaDAO.salvar(clinica);
             return new ResponseEntity<>(clinicaSalva, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("Erro ao salvar clínica: " + e.getMessage());
+            log.error("Erro ao salvar clínica", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -45,15 +63,80 @@ public class ClinicaController {
     /**
      * Endpoint para LISTAR todas as clínicas.
      * O app de celular vai chamar: GET /api/clinicas
+     * Com ?after=<id>&limit=<n> a listagem é paginada por cursor (keyset) e o
+     * próximo cursor volta no cabeçalho X-Proximo-Cursor.
+     * A listagem completa tem ETag (a versão do catálogo): se o app enviar If-None-Match
+     * com a versão atual, a resposta é 304 sem consultar o banco nem montar o JSON.
      *
-     * @return Uma lista de todas as clínicas.
+     * @param after O ID do último registro já recebido (cursor), opcional.
+     * @param limit O tamanho máximo da página, opcional.
+     * @param requisicao A requisição, para o If-None-Match (ETag).
+     * @return Uma lista de todas as clínicas, ou 304 (Not Modified) se o app já tem esta versão.
      */
     @GetMapping
-    public ResponseEntity<List<Clinica>> listarClinicas() {
+    public ResponseEntity<List<Clinica>> listarClinicas(@RequestParam(required = false) Integer after,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        WebRequest requisicao) {
+        if (Paginacao.solicitada(after, limit)) {
+            int limite = Paginacao.limite(limit);
+            List<Clinica> pagina = clinicaDAO.listarPagina(Paginacao.cursor(after), limite);
+            return Paginacao.resposta(pagina, limite, Clinica::getIdClinica);
+        }
+        if (RespostaCondicional.naoModificado(requisicao, "clinicas-v" + clinicaDAO.versaoCatalogo())) {
+            return null; // 304 Not Modified: a resposta já foi preenchida pelo naoModificado
+        }
         List<Clinica> clinicas = clinicaDAO.listarTodos();
         return new ResponseEntity<>(clinicas, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para BUSCAR clínicas enquanto o usuário digita (autocompletar).
+     * O app de celular vai chamar: GET /api/clinicas/busca?q=sao fran
+     * Procura no nome, bairro e cidade, sem diferenciar acentos e maiúsculas, e aceita
+     * o começo das palavras e pequenos erros de digitação. Não consulta o banco.
+     *
+     * @param q O texto digitado.
+     * @param limite Quantas clínicas retornar (padrão 10, máximo 50).
+     * @return As clínicas encontradas, das mais relevantes para as menos relevantes.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<Clinica>> buscarClinicas(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "10") int limite) {
+        int quantidade = Math.max(1, Math.min(limite, LIMITE_BUSCA_MAXIMO));
+        return new ResponseEntity<>(clinicaDAO.buscar(q, quantidade), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint para LISTAR as clínicas mais próximas de um ponto ("clínicas perto de mim").
+     * O app de celular vai chamar: GET /api/clinicas/proximas?lat=-23.55&lon=-46.63&k=5
+     * Usa o índice espacial em memória (não consulta o banco nem envia o catálogo inteiro ao app).
+     * Clínicas sem coordenadas (antigas, com CEP fora da base) não aparecem.
+     *
+     * @param lat A latitude do ponto, em graus decimais (-90 a 90; NaN e infinito dão 400).
+     * @param lon A longitude do ponto, em graus decimais (-180 a 180).
+     * @param k Quantas clínicas retornar (padrão 5, máximo 50).
+     * @return As clínicas com a distância em km, da mais próxima para a mais distante, ou 400 (Bad Request).
+     */
+    @GetMapping("/proximas")
+    public ResponseEntity<List<ClinicaProxima>> listarClinicasProximas(@RequestParam double lat,
+                                                                       @RequestParam double lon,
+                                                                       @RequestParam(defaultValue = "5") int k) {
+        if (!coordenadasValidas(lat, lon)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int quantidade = Math.max(1, Math.min(k, K_MAXIMO));
+        return new ResponseEntity<>(clinicaDAO.listarProximas(lat, lon, quantidade), HttpStatus.OK);
+    }
+
+    /**
+     * Confere se o ponto é uma coordenada de verdade. O Double.isFinite vem antes das faixas porque
+     * toda comparação com NaN é falsa: sem ele, lat=NaN passaria e a distância sairia 0.0 para qualquer clínica.
+     */
+    private static boolean coordenadasValidas(double lat, double lon) {
+        return Double.isFinite(lat) && Double.isFinite(lon)
+                && lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180;
+    }
+
     /**
      * Endpoint para BUSCAR uma clínica por ID.
      * O app de celular vai chamar: GET /api/clinicas/1
@@ -75,12 +158,19 @@ public class ClinicaController {
      * Endpoint para ATUALIZAR uma clínica.
      * O app de celular vai chamar: PUT /api/clinicas/1
      *
+     * Sem latitude e longitude, as coordenadas vêm da base de CEP (só o centro da cidade).
+     *
      * @param id O ID da clínica a atualizar.
      * @param clinica Os novos dados da clínica (em JSON).
-     * @return A clínica atualizada.
+     * @return A clínica atualizada, ou 400 (Bad Request) se só uma coordenada veio ou se ela é inválida.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Clinica> atualizarClinica(@PathVariable int id, @RequestBody Clinica clinica) {
+        boolean semCoordenadas = clinica.getLatitude() == null && clinica.getLongitude() == null;
+        if (!semCoordenadas && (clinica.getLatitude() == null || clinica.getLongitude() == null
+                || !coordenadasValidas(clinica.getLatitude(), clinica.getLongitude()))) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         clinica.setIdClinica(id);
         boolean atualizou = clinicaDAO.atualizar(clinica);
         if (atualizou) {
@@ -1,7 +1,11 @@
 package br.com.assistente.pet.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import dao.ICredencialServicoDAO;
 import model.CredencialServico;
+import model.Visoes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/credenciais") // Todos os métodos aqui começarão com /api/credenciais
 public class CredencialServicoController {
 
+    private static final Logger log = LoggerFactory.getLogger(CredencialServicoController.class);
+
     private final ICredencialServicoDAO credencialDAO;
 
     @Autowired
@@ -36,7 +42,7 @@ public class CredencialServicoController {
             CredencialServico salva = credencialDAO.salvar(credencial);
             return new ResponseEntity<>(salva, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("Erro ao salvar credencial: " + e.getMessage());
+            log.error("Erro ao salvar credencial", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -47,9 +53,10 @@ public class CredencialServicoController {
      * O app de celular vai chamar: GET /api/credenciais/animal/1
      *
      * @param idAnimal O ID do Animal de Serviço.
-     * @return A credencial encontrada (com a lista de habilidades) ou 404.
+     * @return A credencial encontrada (com a lista de habilidades) ou 404 (visão Resumo: sem o ID do animal).
      */
     @GetMapping("/animal/{idAnimal}")
+    @JsonView(Visoes.Resumo.class)
     public ResponseEntity<CredencialServico> buscarCredencialPorAnimalId(@PathVariable int idAnimal) {
         // O DAO.buscarPorAnimalId() já cuida de carregar as habilidades (relação M:N)
         CredencialServico credencial = credencialDAO.buscarPorAnimalId(idAnimal);
@@ -1,27 +1,55 @@
 // Arquivo: DonoController.java
 package br.com.assistente.pet.controller;
 
+import br.com.assistente.pet.seguranca.ExecutorSenhas;
+import br.com.assistente.pet.seguranca.SobrecargaException;
+import com.fasterxml.jackson.annotation.JsonView;
+import dao.ICertificadoVacinaDAO;
+import dao.ICredencialServicoDAO;
 import dao.IPessoaDAO;
+import dao.IPetDAO;
+import model.AnimalDeServico;
+import model.CertificadoVacina;
+import model.CredencialServico;
 import model.Dono;
+import model.PainelDono;
+import model.Pet;
+import model.Visoes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder; // IMPORTANTE
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/donos")
 public class DonoController {
 
+    private static final Logger log = LoggerFactory.getLogger(DonoController.class);
+
     private final IPessoaDAO pessoaDAO;
+    private final IPetDAO petDAO;
+    private final ICertificadoVacinaDAO certificadoDAO;
+    private final ICredencialServicoDAO credencialDAO;
 
-    // --- NOVO ---
-    private final PasswordEncoder passwordEncoder;
+    // Criptografa as senhas (BCrypt) em um pool limitado, fora das threads do Tomcat
+    private final ExecutorSenhas executorSenhas;
 
     @Autowired
-    public DonoController(IPessoaDAO pessoaDAO, PasswordEncoder passwordEncoder) { // Atualizado
+    public DonoController(IPessoaDAO pessoaDAO, IPetDAO petDAO, ICertificadoVacinaDAO certificadoDAO,
+                          ICredencialServicoDAO credencialDAO, ExecutorSenhas executorSenhas) {
         this.pessoaDAO = pessoaDAO;
-        this.passwordEncoder = passwordEncoder; // Injetado
+        this.petDAO = petDAO;
+        this.certificadoDAO = certificadoDAO;
+        this.credencialDAO = credencialDAO;
+        this.executorSenhas = executorSenhas;
     }
 
     @PostMapping
@@ -29,16 +57,62 @@ public class DonoController {
         try {
             // --- A MÁGICA DA CRIPTOGRAFIA ---
             // NUNCA salve a senha pura. Salve o "hash" dela.
-            String senhaCriptografada = passwordEncoder.encode(dono.getSenha());
+            String senhaCriptografada = executorSenhas.criptografar(dono.getSenha());
             dono.setSenha(senhaCriptografada);
 
             // Agora o DAO.salvar() vai salvar a senha criptografada
             Dono donoSalvo = (Dono) pessoaDAO.salvar(dono);
 
             return new ResponseEntity<>(donoSalvo, HttpStatus.CREATED);
+        } catch (SobrecargaException e) {
+            // Pool de senhas cheio: responde rápido e pede para o app tentar de novo depois
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSegundos()))
+                    .build();
         } catch (Exception e) {
-            System.err.println("Erro ao salvar Dono: " + e.getMessage());
+            log.error("Erro ao salvar Dono", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint do PAINEL do dono (tela inicial do app): pets, vacinas e credenciais em uma só chamada.
+     * O app de celular vai chamar: GET /api/donos/1/painel
+     *
+     * O número de consultas não cresce com o número de pets: uma para o dono, uma para os pets,
+     * uma (por bloco de 500 pets) para todos os certificados e uma para todas as credenciais.
+     *
+     * @param id O ID do dono.
+     * @return O painel (visão Resumo), ou 404 (Not Found) se a pessoa não existir.
+     */
+    @GetMapping("/{id}/painel")
+    @JsonView(Visoes.Resumo.class)
+    public ResponseEntity<PainelDono> buscarPainel(@PathVariable int id) {
+        if (pessoaDAO.buscarPorId(id) == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        List<Pet> pets = petDAO.listarPorDono(id);
+        List<Integer> idsPets = new ArrayList<>();
+        List<Integer> idsAnimaisServico = new ArrayList<>();
+        for (Pet pet : pets) {
+            idsPets.add(pet.getIdPet());
+            if (pet instanceof AnimalDeServico) {
+                idsAnimaisServico.add(pet.getIdPet());
+            }
+        }
+
+        Map<Integer, List<CertificadoVacina>> certificados = certificadoDAO.listarPorPets(idsPets);
+        Map<Integer, List<CredencialServico>> credenciais = idsAnimaisServico.isEmpty()
+                ? Collections.emptyMap()
+                : credencialDAO.listarPorAnimais(idsAnimaisServico);
+
+        PainelDono painel = new PainelDono(id);
+        for (Pet pet : pets) {
+            painel.adicionarPet(new PainelDono.PetPainel(pet,
+                    certificados.getOrDefault(pet.getIdPet(), Collections.emptyList()),
+                    credenciais.getOrDefault(pet.getIdPet(), Collections.emptyList())));
+        }
+        return new ResponseEntity<>(painel, HttpStatus.OK);
+    }
+}
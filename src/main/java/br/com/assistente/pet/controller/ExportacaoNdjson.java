@@ -0,0 +1,53 @@
+package br.com.assistente.pet.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Classe auxiliar para os endpoints de exportação em NDJSON (um JSON por linha).
+ * Cada registro é serializado e escrito na resposta assim que sai do banco,
+ * então a memória usada não cresce com o tamanho da tabela.
+ */
+final class ExportacaoNdjson {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private ExportacaoNdjson() {
+    }
+
+    /**
+     * Monta a resposta em streaming.
+     *
+     * @param objectMapper O ObjectMapper do Spring (mesma configuração do resto da API).
+     * @param fonte O método do DAO que percorre a tabela (ex: petDAO::exportarTodos).
+     */
+    static <T> ResponseEntity<StreamingResponseBody> resposta(ObjectMapper objectMapper, Consumer<Consumer<T>> fonte) {
+        StreamingResponseBody corpo = saida -> {
+            try {
+                fonte.accept(registro -> {
+                    try {
+                        saida.write(objectMapper.writeValueAsBytes(registro));
+                        saida.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // O cliente desconectou no meio da exportação
+                throw e.getCause();
+            }
+            saida.flush();
+        };
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(APPLICATION_NDJSON)
+                .body(corpo);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.assistente.pet.controller;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Formatos de resposta além do JSON.
+ *
+ * CBOR (Accept: application/cbor): o mesmo conteúdo do JSON em binário, bem menor
+ * para datas e números. O JSON continua sendo o padrão para quem não pede CBOR.
+ * O conversor usa o mesmo ObjectMapper configurado pelo Spring (spring.jackson.*),
+ * então as visões (@JsonView) e as regras de campos nulos valem para os dois formatos.
+ */
+@Configuration
+public class FormatosConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
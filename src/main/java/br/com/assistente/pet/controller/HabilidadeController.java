@@ -2,10 +2,13 @@ package br.com.assistente.pet.controller;
 
 import dao.IHabilidadeDAO;
 import model.Habilidade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,6 +20,8 @@ import java.util.List;
 @RequestMapping("/api/habilidades") // Todos os métodos aqui começarão com /api/habilidades
 public class HabilidadeController {
 
+    private static final Logger log = LoggerFactory.getLogger(HabilidadeController.class);
+
     private final IHabilidadeDAO habilidadeDAO;
 
     @Autowired
@@ -37,7 +42,7 @@ public class HabilidadeController {
             Habilidade salva = habilidadeDAO.salvar(habilidade);
             return new ResponseEntity<>(salva, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("Erro ao salvar habilidade: " + e.getMessage());
+            log.error("Erro ao salvar habilidade", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -45,11 +50,28 @@ public class HabilidadeController {
     /**
      * Endpoint para LISTAR todas as habilidades.
      * O app de celular vai chamar: GET /api/habilidades
+     * Com ?after=<id>&limit=<n> a listagem é paginada por cursor (keyset) e o
+     * próximo cursor volta no cabeçalho X-Proximo-Cursor.
+     * A listagem completa tem ETag (a versão do catálogo): se o app enviar If-None-Match
+     * com a versão atual, a resposta é 304 sem consultar o banco nem montar o JSON.
      *
-     * @return Uma lista de todas as habilidades.
+     * @param after O ID do último registro já recebido (cursor), opcional.
+     * @param limit O tamanho máximo da página, opcional.
+     * @param requisicao A requisição, para o If-None-Match (ETag).
+     * @return Uma lista de todas as habilidades, ou 304 (Not Modified) se o app já tem esta versão.
      */
     @GetMapping
-    public ResponseEntity<List<Habilidade>> listarHabilidades() {
+    public ResponseEntity<List<Habilidade>> listarHabilidades(@RequestParam(required = false) Integer after,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              WebRequest requisicao) {
+        if (Paginacao.solicitada(after, limit)) {
+            int limite = Paginacao.limite(limit);
+            List<Habilidade> pagina = habilidadeDAO.listarPagina(Paginacao.cursor(after), limite);
+            return Paginacao.resposta(pagina, limite, Habilidade::getIdHabilidade);
+        }
+        if (RespostaCondicional.naoModificado(requisicao, "habilidades-v" + habilidadeDAO.versaoCatalogo())) {
+            return null; // 304 Not Modified: a resposta já foi preenchida pelo naoModificado
+        }
         List<Habilidade> habilidades = habilidadeDAO.listarTodos();
         return new ResponseEntity<>(habilidades, HttpStatus.OK);
     }
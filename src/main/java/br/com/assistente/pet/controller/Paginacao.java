@@ -0,0 +1,59 @@
+package br.com.assistente.pet.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Classe auxiliar para a paginação por cursor (keyset) dos endpoints de listagem.
+ * O app envia ?after=<id>&limit=<n> e recebe o cursor da próxima página
+ * no cabeçalho X-Proximo-Cursor (ausente quando a listagem terminou).
+ */
+final class Paginacao {
+
+    static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+    static final int LIMITE_PADRAO = 100;
+    static final int LIMITE_MAXIMO = 500;
+
+    private Paginacao() {
+    }
+
+    /**
+     * Diz se o app pediu a listagem paginada (algum dos parâmetros foi informado).
+     */
+    static boolean solicitada(Integer after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    /**
+     * Normaliza o cursor: ausente ou negativo vira 0 (primeira página).
+     */
+    static int cursor(Integer after) {
+        return (after == null || after < 0) ? 0 : after;
+    }
+
+    /**
+     * Normaliza o limite, garantindo que a memória usada por requisição seja limitada.
+     */
+    static int limite(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limit, LIMITE_MAXIMO);
+    }
+
+    /**
+     * Monta a resposta com a página e, se ela veio cheia, o cursor da próxima.
+     */
+    static <T> ResponseEntity<List<T>> resposta(List<T> pagina, int limite, ToIntFunction<T> id) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!pagina.isEmpty() && pagina.size() >= limite) {
+            T ultimo = pagina.get(pagina.size() - 1);
+            headers.add(CABECALHO_PROXIMO_CURSOR, String.valueOf(id.applyAsInt(ultimo)));
+        }
+        return new ResponseEntity<>(pagina, headers, HttpStatus.OK);
+    }
+}
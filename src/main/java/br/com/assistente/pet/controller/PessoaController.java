@@ -1,35 +1,52 @@
 package br.com.assistente.pet.controller;
 
+import br.com.assistente.pet.seguranca.ExecutorSenhas;
+import br.com.assistente.pet.seguranca.SobrecargaException;
+import br.com.assistente.pet.seguranca.TokenSessaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dao.IPessoaDAO;
 import model.Pessoa;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-// --- NOVO IMPORT ---
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * Controlador REST que expõe os endpoints (URLs) para a entidade Pessoa.
- * ATUALIZADO: Agora injeta PasswordEncoder e usa o método de login seguro.
+ * ATUALIZADO: O login verifica a senha (BCrypt) pelo ExecutorSenhas, em um pool limitado.
  */
 @RestController
 @RequestMapping("/api/pessoas")
 public class PessoaController {
 
+    private static final Logger log = LoggerFactory.getLogger(PessoaController.class);
+
     private final IPessoaDAO pessoaDAO;
 
-    // --- NOVO CAMPO ---
-    private final PasswordEncoder passwordEncoder;
+    // Verifica as senhas (BCrypt) em um pool limitado, fora das threads do Tomcat
+    private final ExecutorSenhas executorSenhas;
+
+    // Usado na exportação em streaming (NDJSON)
+    private final ObjectMapper objectMapper;
+
+    // Emite o token de sessão entregue no login
+    private final TokenSessaoService tokenSessaoService;
 
     // --- CONSTRUTOR ATUALIZADO ---
-    // O Spring vai injetar o PessoaDAO e o PasswordEncoder (do SecurityConfig)
+    // O Spring vai injetar o PessoaDAO e o ExecutorSenhas (que usa o PasswordEncoder do SecurityConfig)
     @Autowired
-    public PessoaController(IPessoaDAO pessoaDAO, PasswordEncoder passwordEncoder) {
+    public PessoaController(IPessoaDAO pessoaDAO, ExecutorSenhas executorSenhas, ObjectMapper objectMapper,
+                            TokenSessaoService tokenSessaoService) {
         this.pessoaDAO = pessoaDAO;
-        this.passwordEncoder = passwordEncoder;
+        this.executorSenhas = executorSenhas;
+        this.objectMapper = objectMapper;
+        this.tokenSessaoService = tokenSessaoService;
     }
 
     /**
@@ -45,20 +62,41 @@ public class PessoaController {
             Pessoa pessoaSalva = pessoaDAO.salvar(pessoa);
             return new ResponseEntity<>(pessoaSalva, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("Erro ao salvar pessoa: " + e.getMessage());
+            log.error("Erro ao salvar pessoa", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     /**
      * Endpoint para LISTAR todas as pessoas.
+     * Com ?after=<id>&limit=<n> a listagem é paginada por cursor (keyset) e o
+     * próximo cursor volta no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public ResponseEntity<List<Pessoa>> listarPessoas() {
+    public ResponseEntity<List<Pessoa>> listarPessoas(@RequestParam(required = false) Integer after,
+                                                      @RequestParam(required = false) Integer limit) {
+        if (Paginacao.solicitada(after, limit)) {
+            int limite = Paginacao.limite(limit);
+            List<Pessoa> pagina = pessoaDAO.listarPagina(Paginacao.cursor(after), limite);
+            return Paginacao.resposta(pagina, limite, Pessoa::getIdPessoa);
+        }
         List<Pessoa> pessoas = pessoaDAO.listarTodos();
         return new ResponseEntity<>(pessoas, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para EXPORTAR todas as pessoas em NDJSON (um JSON por linha).
+     * Usado pela sincronização noturna do back office: GET /api/pessoas/export (só papel ADMIN)
+     * Os registros são escritos na resposta à medida que são lidos do banco,
+     * então o primeiro byte sai em milissegundos e a memória fica estável.
+     *
+     * @return O corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportarPessoas() {
+        return ExportacaoNdjson.resposta(objectMapper, pessoaDAO::exportarTodos);
+    }
+
     /**
      * Endpoint para BUSCAR uma pessoa por ID.
      */
@@ -107,9 +145,13 @@ public class PessoaController {
     /**
      * Endpoint para LOGIN.
      * O app de celular vai chamar: POST /api/pessoas/login
+     * Em caso de sucesso, o token de sessão volta no cabeçalho "Authorization: Bearer ...".
+     * O app deve enviá-lo nas próximas requisições, que são validadas sem banco e sem BCrypt.
+     * O login sempre confere a senha, mesmo se o app mandar um token válido: senão um token
+     * vazado poderia ser renovado para sempre sem a senha.
      *
      * @param loginData Os dados de login (JSON) vindos do app.
-     * @return A Pessoa (com o ID) se o login for sucesso, ou erro 401/404.
+     * @return A Pessoa (com o ID) se o login for sucesso, ou erro 401/404 (503 em pico de logins).
      */
     @PostMapping("/login")
     public ResponseEntity<Pessoa> login(@RequestBody Pessoa loginData) {
@@ -119,16 +161,22 @@ public class PessoaController {
 
         if (pessoaNoBanco != null) {
             // 2. Compara a senha do app com a senha criptografada do banco
-
             String senhaDoApp = loginData.getSenha(); // Senha pura (ex: "123456")
             String senhaDoBanco = pessoaNoBanco.getSenha(); // Senha hash (ex: "$2a$10$...")
 
-            if (passwordEncoder.matches(senhaDoApp, senhaDoBanco)) {
-                // Sucesso! A senha bate.
-                return new ResponseEntity<>(pessoaNoBanco, HttpStatus.OK);
-            } else {
-                // Senha errada
-                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED); // 401 Não Autorizado
+            try {
+                if (executorSenhas.verificar(senhaDoApp, senhaDoBanco)) {
+                    // Sucesso! A senha bate.
+                    return respostaLogin(pessoaNoBanco);
+                } else {
+                    // Senha errada
+                    return new ResponseEntity<>(HttpStatus.UNAUTHORIZED); // 401 Não Autorizado
+                }
+            } catch (SobrecargaException e) {
+                // Pico de logins: responde rápido e pede para o app tentar de novo depois
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSegundos()))
+                        .build(); // 503 Serviço Indisponível
             }
         } else {
             // E-mail não encontrado
@@ -136,4 +184,13 @@ public class PessoaController {
         }
     }
 
+    /**
+     * Monta a resposta de login com um novo token de sessão no cabeçalho.
+     */
+    private ResponseEntity<Pessoa> respostaLogin(Pessoa pessoa) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenSessaoService.gerar(pessoa));
+        return new ResponseEntity<>(pessoa, headers, HttpStatus.OK);
+    }
+
 } // <-- Fim da classe
\ No newline at end of file
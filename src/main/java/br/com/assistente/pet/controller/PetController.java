@@ -1,12 +1,22 @@
 package br.com.assistente.pet.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dao.IPetDAO;
 import model.Pet;
+import model.ResultadoLote;
+import model.Visoes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 /**
@@ -17,11 +27,18 @@ import java.util.List;
 @RequestMapping("/api/pets") // Todos os métodos aqui começarão com /api/pets
 public class PetController {
 
+    private static final Logger log = LoggerFactory.getLogger(PetController.class);
+
+    // Tamanho máximo aceito em uma única chamada de inserção em lote
+    private static final int LIMITE_LOTE = 10000;
+
     private final IPetDAO petDAO;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public PetController(IPetDAO petDAO) {
+    public PetController(IPetDAO petDAO, ObjectMapper objectMapper) {
         this.petDAO = petDAO;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -37,32 +54,83 @@ public class PetController {
             Pet petSalvo = petDAO.salvar(pet);
             return new ResponseEntity<>(petSalvo, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("Erro ao salvar pet: " + e.getMessage());
+            log.error("Erro ao salvar pet", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Endpoint para SALVAR vários pets de uma vez (importação de clínicas).
+     * O sistema da clínica vai chamar: POST /api/pets/bulk
+     * Um item com erro não impede que os demais sejam salvos.
+     *
+     * @param pets A lista de pets (em JSON).
+     * @return 201 (Created) se todos foram salvos, ou 207 (Multi-Status) com o erro de cada item.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ResultadoLote> salvarPetsEmLote(@RequestBody List<Pet> pets) {
+        if (pets.size() > LIMITE_LOTE) {
+            return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        ResultadoLote resultado = petDAO.salvarEmLote(pets);
+        HttpStatus status = resultado.getComErro() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(resultado, status);
+    }
+
     /**
      * Endpoint para LISTAR todos os pets.
      * O app de celular vai chamar: GET /api/pets
+     * Com ?after=<id>&limit=<n> a listagem é paginada por cursor (keyset) e o
+     * próximo cursor volta no cabeçalho X-Proximo-Cursor.
      *
+     * @param after O ID do último registro já recebido (cursor), opcional.
+     * @param limit O tamanho máximo da página, opcional.
      * @return Uma lista de todos os pets.
      */
     @GetMapping
-    public ResponseEntity<List<Pet>> listarTodosPets() {
+    public ResponseEntity<List<Pet>> listarTodosPets(@RequestParam(required = false) Integer after,
+                                                     @RequestParam(required = false) Integer limit) {
+        if (Paginacao.solicitada(after, limit)) {
+            int limite = Paginacao.limite(limit);
+            List<Pet> pagina = petDAO.listarPagina(Paginacao.cursor(after), limite);
+            return Paginacao.resposta(pagina, limite, Pet::getIdPet);
+        }
         List<Pet> pets = petDAO.listarTodos();
         return new ResponseEntity<>(pets, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint para EXPORTAR todos os pets em NDJSON (um JSON por linha).
+     * Usado pela sincronização noturna do back office: GET /api/pets/export (só papel ADMIN)
+     * Os registros são escritos na resposta à medida que são lidos do banco,
+     * então o primeiro byte sai em milissegundos e a memória fica estável.
+     *
+     * @return O corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportarPets() {
+        return ExportacaoNdjson.resposta(objectMapper, petDAO::exportarTodos);
+    }
+
     /**
      * Endpoint para BUSCAR um pet por ID.
      * O app de celular vai chamar: GET /api/pets/1
      *
      * @param id O ID do pet.
-     * @return O pet encontrado ou 404 (Not Found).
+     * @param requisicao A requisição, para o If-None-Match (ETag).
+     * @return O pet encontrado, 304 (Not Modified) se o app já tem esta versão, ou 404 (Not Found).
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Pet> buscarPetPorId(@PathVariable int id) {
+    public ResponseEntity<Pet> buscarPetPorId(@PathVariable int id, WebRequest requisicao) {
+        // O ETag vem de uma consulta só pela chave primária; o SELECT completo só roda se o pet mudou
+        Instant versao = petDAO.buscarVersao(id);
+        if (versao == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (RespostaCondicional.naoModificado(requisicao, "pet-" + id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, versao))) {
+            return null; // 304 Not Modified: a resposta já foi preenchida pelo naoModificado
+        }
+
         Pet pet = petDAO.buscarPorId(id);
         if (pet != null) {
             return new ResponseEntity<>(pet, HttpStatus.OK);
@@ -76,9 +144,10 @@ public class PetController {
      * O app de celular vai chamar: GET /api/pets/dono/1
      *
      * @param idDono O ID do dono.
-     * @return A lista de pets daquele dono.
+     * @return A lista de pets daquele dono (visão Resumo: sem o ID do dono em cada pet).
      */
     @GetMapping("/dono/{idDono}")
+    @JsonView(Visoes.Resumo.class)
     public ResponseEntity<List<Pet>> listarPetsPorDono(@PathVariable int idDono) {
         List<Pet> pets = petDAO.listarPorDono(idDono);
         return new ResponseEntity<>(pets, HttpStatus.OK);
@@ -0,0 +1,86 @@
+package br.com.assistente.pet.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe auxiliar para as respostas com ETag (listagens completas dos catálogos e GET /api/pets/{id}).
+ *
+ * Sem uma política própria, o Spring Security manda "Cache-Control: no-store" em toda resposta,
+ * e um cache HTTP comum (OkHttp, NSURLCache) nunca guarda a resposta nem manda o If-None-Match.
+ * Aqui a resposta vai com "private, no-cache": o cache do app guarda e revalida com o ETag antes
+ * de usar; caches compartilhados não guardam (as respostas são de um usuário autenticado).
+ * O Spring Security não mexe no Cache-Control quando ele já foi definido.
+ *
+ * O mesmo recurso sai em JSON ou em CBOR, conforme o Accept (FormatosConfig). O ETag é forte,
+ * então muda com a representação ("vacinas-v3" no JSON, "vacinas-v3-cbor" no CBOR), e a resposta
+ * leva "Vary: Accept" para que um cache não entregue os bytes de um formato a quem pediu o outro.
+ */
+final class RespostaCondicional {
+
+    static final CacheControl POLITICA_CACHE = CacheControl.noCache().cachePrivate();
+
+    // Na ordem dos conversores do Spring: o JSON ganha quando o Accept aceita os dois por igual (ex: */*)
+    private static final List<MediaType> FORMATOS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    private RespostaCondicional() {
+    }
+
+    /**
+     * Define a política de cache da resposta (também no 304) e confere o If-None-Match
+     * com o ETag da representação que vai ser enviada.
+     *
+     * @param versao A versão do recurso, sem aspas e sem o formato (ex: "vacinas-v3").
+     * @return true se o app já tem esta versão: a resposta 304 já foi preenchida e o controller devolve null.
+     */
+    static boolean naoModificado(WebRequest requisicao, String versao) {
+        HttpServletResponse resposta = ((ServletWebRequest) requisicao).getResponse();
+        if (resposta != null) {
+            resposta.setHeader(HttpHeaders.CACHE_CONTROL, POLITICA_CACHE.getHeaderValue());
+            resposta.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String sufixo = MediaType.APPLICATION_CBOR.equals(formato(requisicao)) ? "-cbor" : "";
+        return requisicao.checkNotModified("\"" + versao + sufixo + "\"");
+    }
+
+    /**
+     * O formato que o Spring vai escolher para a resposta, pela mesma regra da negociação de conteúdo:
+     * os formatos compatíveis com o Accept, ordenados por qualidade (q) e especificidade.
+     * Sem Accept, ou com um Accept inválido, fica o JSON.
+     */
+    static MediaType formato(WebRequest requisicao) {
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(requisicao.getHeader(HttpHeaders.ACCEPT));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> compativeis = new ArrayList<>();
+        for (MediaType aceito : aceitos) {
+            for (MediaType formato : FORMATOS) {
+                if (aceito.isCompatibleWith(formato)) {
+                    MediaType comQualidade = formato.copyQualityValue(aceito);
+                    compativeis.add(aceito.isLessSpecific(comQualidade) ? comQualidade : aceito);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compativeis);
+        for (MediaType compativel : compativeis) {
+            for (MediaType formato : FORMATOS) {
+                if (formato.equalsTypeAndSubtype(compativel)) {
+                    return formato;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
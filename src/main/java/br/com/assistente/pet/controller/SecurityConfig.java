@@ -1,12 +1,19 @@
 package br.com.assistente.pet.controller; // (ou o pacote que você usa)
 
+import br.com.assistente.pet.seguranca.TokenSessaoFilter;
+import br.com.assistente.pet.seguranca.TokenSessaoService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.List;
 
 @Configuration
 public class SecurityConfig {
@@ -21,23 +28,37 @@ public class SecurityConfig {
     // --- ESTE É O NOVO MÉTODO QUE LIBERA OS ENDPOINTS ---
     //
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenSessaoService tokenSessaoService,
+                                                   @Value("${app.admin.emails:}") List<String> emailsAdmin) throws Exception {
         http
                 // 1. Desabilita o CSRF (necessário para APIs stateless como a nossa)
                 .csrf(AbstractHttpConfigurer::disable)
 
+                // 1.1. Sem sessão HTTP: cada requisição se autentica pelo token do login
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
                 // 2. Configura as regras de autorização
                 .authorizeHttpRequests(authorize -> authorize
                         // 3. Permite (libera) C-O-M-P-L-E-T-A-M-E-N-T-E as URLs de registro e login
                         .requestMatchers("/api/donos").permitAll()
                         .requestMatchers("/api/pessoas/login").permitAll()
+                        // 3.1. Métricas e saúde, lidas pelo Prometheus e pelo balanceador de carga
+                        //      (em produção, deixe essas URLs acessíveis só pela rede interna)
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+
+                        // 3.2. Back office: só contas de administração (e-mails em app.admin.emails)
+                        .requestMatchers("/api/pessoas/export", "/api/pets/export", "/api/admin/**").hasRole(TokenSessaoFilter.PAPEL_ADMIN)
 
                         // 4. (Opcional) Diz que qualquer outra URL deve ser autenticada
                         .anyRequest().authenticated()
                 )
 
                 // 5. Desabilita o login "Basic" (o pop-up feio do navegador)
-                .httpBasic(AbstractHttpConfigurer::disable);
+                .httpBasic(AbstractHttpConfigurer::disable)
+
+                // 6. Valida o token de sessão ("Authorization: Bearer ...") emitido no login,
+                //    sem consultar o banco e sem BCrypt
+                .addFilterBefore(new TokenSessaoFilter(tokenSessaoService, emailsAdmin), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,99 @@
+package br.com.assistente.pet.controller;
+
+import dao.ICertificadoVacinaDAO;
+import dao.ICredencialServicoDAO;
+import dao.IPessoaDAO;
+import dao.IPetDAO;
+import dao.ISincronizacaoDAO;
+import model.PacoteSincronizacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Controlador REST da sincronização incremental do app (modo offline).
+ * Em vez de baixar todo o histórico a cada abertura, o app envia o token da
+ * última sincronização e recebe só o que mudou desde então.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SincronizacaoController {
+
+    private final ISincronizacaoDAO sincronizacaoDAO;
+    private final IPessoaDAO pessoaDAO;
+    private final IPetDAO petDAO;
+    private final ICertificadoVacinaDAO certificadoDAO;
+    private final ICredencialServicoDAO credencialDAO;
+
+    // Quanto o token "volta no tempo" para não perder transações que ainda não tinham terminado
+    private final long margemMs;
+
+    @Autowired
+    public SincronizacaoController(ISincronizacaoDAO sincronizacaoDAO, IPessoaDAO pessoaDAO, IPetDAO petDAO,
+                                   ICertificadoVacinaDAO certificadoDAO, ICredencialServicoDAO credencialDAO,
+                                   @Value("${app.sync.margem-ms:5000}") long margemMs) {
+        this.sincronizacaoDAO = sincronizacaoDAO;
+        this.pessoaDAO = pessoaDAO;
+        this.petDAO = petDAO;
+        this.certificadoDAO = certificadoDAO;
+        this.credencialDAO = credencialDAO;
+        this.margemMs = margemMs;
+    }
+
+    /**
+     * Endpoint para SINCRONIZAR os dados do dono logado.
+     * O app de celular vai chamar: GET /api/sync (primeira vez) e depois GET /api/sync?since=<token>
+     *
+     * O token é a hora do banco (em microssegundos) menos a margem: uma linha gravada por uma
+     * transação que terminou logo depois desta consulta ainda aparece na próxima sincronização.
+     * Por isso um mesmo registro pode vir duas vezes, e o app deve sobrescrever pelo ID.
+     *
+     * @param since O token devolvido pela sincronização anterior (ausente = sincronização completa).
+     * @param autenticacao A sessão do app (o principal é o ID da pessoa).
+     * @return As alterações e o novo token, ou 400 (Bad Request) se o token for inválido.
+     */
+    @GetMapping
+    public ResponseEntity<PacoteSincronizacao> sincronizar(@RequestParam(required = false) String since,
+                                                           Authentication autenticacao) {
+        Instant desde;
+        try {
+            desde = (since == null || since.isBlank()) ? Instant.EPOCH : deToken(since);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        int idPessoa = (Integer) autenticacao.getPrincipal();
+
+        // O novo token é calculado ANTES das consultas: o que mudar durante elas vem na próxima vez
+        String token = paraToken(sincronizacaoDAO.agora().minusMillis(margemMs));
+
+        PacoteSincronizacao pacote = new PacoteSincronizacao(
+                token,
+                Instant.EPOCH.equals(desde),
+                pessoaDAO.buscarSeAlterada(idPessoa, desde),
+                petDAO.listarAlteradosPorDono(idPessoa, desde),
+                certificadoDAO.listarAlteradosPorDono(idPessoa, desde),
+                credencialDAO.listarAlteradasPorDono(idPessoa, desde),
+                sincronizacaoDAO.listarExclusoes(idPessoa, desde));
+
+        return new ResponseEntity<>(pacote, HttpStatus.OK);
+    }
+
+    private static String paraToken(Instant instante) {
+        return String.valueOf(ChronoUnit.MICROS.between(Instant.EPOCH, instante));
+    }
+
+    private static Instant deToken(String token) {
+        long micros = Long.parseLong(token.trim());
+        if (micros < 0) {
+            throw new NumberFormatException("Token negativo: " + token);
+        }
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
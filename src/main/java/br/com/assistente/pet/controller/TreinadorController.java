@@ -2,6 +2,8 @@ package br.com.assistente.pet.controller;
 
 import dao.ITreinadorDAO;
 import model.Treinador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,8 @@ import java.util.List;
 @RequestMapping("/api/treinadores") // Todos os métodos aqui começarão com /api/treinadores
 public class TreinadorController {
 
+    private static final Logger log = LoggerFactory.getLogger(TreinadorController.class);
+
     private final ITreinadorDAO treinadorDAO;
 
     @Autowired
@@ -37,7 +41,7 @@ public class TreinadorController {
             Treinador salvo = treinadorDAO.salvar(treinador);
             return new ResponseEntity<>(salvo, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("Erro ao salvar treinador: " + e.getMessage());
+            log.error("Erro ao salvar treinador", e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -45,11 +49,21 @@ public class TreinadorController {
     /**
      * Endpoint para LISTAR todos os treinadores.
      * O app de celular vai chamar: GET /api/treinadores
+     * Com ?after=<id>&limit=<n> a listagem é paginada por cursor (keyset) e o
+     * próximo cursor volta no cabeçalho X-Proximo-Cursor.
      *
+     * @param after O ID do último registro já recebido (cursor), opcional.
+     * @param limit O tamanho máximo da página, opcional.
      * @return Uma lista de todos os treinadores.
      */
     @GetMapping
-    public ResponseEntity<List<Treinador>> listarTreinadores() {
+    public ResponseEntity<List<Treinador>> listarTreinadores(@RequestParam(required = false) Integer after,
+                                                             @RequestParam(required = false) Integer limit) {
+        if (Paginacao.solicitada(after, limit)) {
+            int limite = Paginacao.limite(limit);
+            List<Treinador> pagina = treinadorDAO.listarPagina(Paginacao.cursor(after), limite);
+            return Paginacao.resposta(pagina, limite, Treinador::getIdTreinador);
+        }
         List<Treinador> treinadores = treinadorDAO.listarTodos();
         return new ResponseEntity<>(treinadores, HttpStatus.OK);
     }
@@ -0,0 +1,50 @@
+package br.com.assistente.pet.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro do Logback que deixa passar só 1 a cada N eventos com um marcador
+ * (ex: NAO_ENCONTRADO, o "não encontrado" dos DAOs). Os demais são descartados
+ * antes mesmo de o evento ser criado, então o custo de um evento descartado é quase zero.
+ * Avisos e erros (WARN/ERROR) nunca são descartados.
+ *
+ * Configurado no logback-spring.xml:
+ *   <turboFilter class="br.com.assistente.pet.log.AmostragemTurboFilter">
+ *       <marcador>NAO_ENCONTRADO</marcador>
+ *       <taxa>100</taxa>
+ *   </turboFilter>
+ */
+public class AmostragemTurboFilter extends TurboFilter {
+
+    private String marcador;
+    private int taxa = 100;
+    private final AtomicLong contador = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || marcador == null || level.isGreaterOrEqual(Level.WARN) || !marker.contains(marcador)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Só conta os eventos que seriam registrados no nível configurado do logger
+        // (getEffectiveLevel, e não isEnabledFor, que chamaria este filtro de novo)
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        long numero = contador.incrementAndGet();
+        return (taxa <= 1 || numero % taxa == 1) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setMarcador(String marcador) {
+        this.marcador = marcador;
+    }
+
+    public void setTaxa(int taxa) {
+        this.taxa = taxa;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.assistente.pet.metricas;
+
+import dao.CacheLeitura;
+import dao.RegistroCaches;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica os contadores dos caches de catálogo (RegistroCaches) como métricas,
+ * com os mesmos nomes usados pelo Micrometer para outros caches:
+ * cache.gets (result=hit/miss), cache.evictions e cache.size, com a tag cache=nome.
+ *
+ * Os caches são criados junto com os DAOs, então o registro é feito depois que
+ * todos os beans foram criados.
+ */
+@Component
+public class MetricasCaches implements SmartInitializingSingleton {
+
+    private final MeterRegistry registry;
+    private final RegistroCaches registroCaches;
+
+    public MetricasCaches(MeterRegistry registry, RegistroCaches registroCaches) {
+        this.registry = registry;
+        this.registroCaches = registroCaches;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (CacheLeitura<?, ?> cache : registroCaches.listar()) {
+            contador(cache, "cache.gets", "acertos", "result", "hit");
+            contador(cache, "cache.gets", "faltas", "result", "miss");
+            contador(cache, "cache.evictions", "remocoes", null, null);
+            Gauge.builder("cache.size", cache, c -> c.estatisticas().get("tamanho"))
+                    .description("Entradas no cache")
+                    .tag("cache", cache.getNome())
+                    .register(registry);
+        }
+    }
+
+    private void contador(CacheLeitura<?, ?> cache, String nome, String chave, String tag, String valorTag) {
+        Tags tags = Tags.of("cache", cache.getNome());
+        if (tag != null) {
+            tags = tags.and(tag, valorTag);
+        }
+        FunctionCounter.builder(nome, cache, c -> c.estatisticas().get(chave))
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.assistente.pet.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import model.ResultadoLote;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada método público dos DAOs (classes @Repository do pacote dao):
+ * - dao.consultas: tempo de execução, com as tags dao, metodo e resultado (sucesso/erro);
+ * - dao.linhas: quantas linhas o método devolveu ou alterou.
+ *
+ * As linhas são contadas pelo retorno: tamanho da lista, 1 para um objeto, 0 para null,
+ * 1/0 para os boolean de atualizar/deletar e os itens salvos de um ResultadoLote.
+ * Métodos void (ex: exportarTodos) só têm o tempo medido.
+ */
+@Aspect
+@Component
+public class MetricasDAOAspect {
+
+    private final MeterRegistry registry;
+
+    // Os medidores de cada método são criados uma vez e reaproveitados
+    private final Map<String, Medidores> medidores = new ConcurrentHashMap<>();
+
+    public MetricasDAOAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * dao..*.*(..)) && @within(org.springframework.stereotype.Repository)")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature assinatura = (MethodSignature) joinPoint.getSignature();
+        String dao = assinatura.getDeclaringType().getSimpleName();
+        String metodo = assinatura.getName();
+        Medidores medidoresDoMetodo = medidores.computeIfAbsent(dao + "." + metodo, chave -> new Medidores(dao, metodo));
+
+        long inicio = System.nanoTime();
+        try {
+            Object retorno = joinPoint.proceed();
+            medidoresDoMetodo.sucesso.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            if (assinatura.getReturnType() != void.class) {
+                medidoresDoMetodo.linhas.record(contarLinhas(retorno));
+            }
+            return retorno;
+        } catch (Throwable e) {
+            medidoresDoMetodo.erro.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static int contarLinhas(Object retorno) {
+        if (retorno == null) {
+            return 0;
+        } else if (retorno instanceof Collection<?> colecao) {
+            return colecao.size();
+        } else if (retorno instanceof Boolean alterou) {
+            return alterou ? 1 : 0;
+        } else if (retorno instanceof ResultadoLote lote) {
+            return lote.getSalvos();
+        }
+        return 1;
+    }
+
+    private final class Medidores {
+        private final Timer sucesso;
+        private final Timer erro;
+        private final DistributionSummary linhas;
+
+        private Medidores(String dao, String metodo) {
+            this.sucesso = timer(dao, metodo, "sucesso");
+            this.erro = timer(dao, metodo, "erro");
+            this.linhas = DistributionSummary.builder("dao.linhas")
+                    .description("Linhas devolvidas ou alteradas por chamada ao DAO")
+                    .tag("dao", dao)
+                    .tag("metodo", metodo)
+                    .register(registry);
+        }
+
+        private Timer timer(String dao, String metodo, String resultado) {
+            return Timer.builder("dao.consultas")
+                    .description("Tempo de cada chamada aos métodos dos DAOs")
+                    .tag("dao", dao)
+                    .tag("metodo", metodo)
+                    .tag("resultado", resultado)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.assistente.pet.metricas;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envolve o DataSource da API para medir cada comando SQL executado (por JdbcTemplate
+ * ou direto pela conexão) e enviar a medição ao RegistroConsultas.
+ *
+ * - Connection: os comandos criados (prepareStatement, prepareCall, createStatement) são envolvidos;
+ * - PreparedStatement: guarda o SQL e o tipo de cada parâmetro (setInt, setString, ...);
+ * - execute*: mede o tempo da execução.
+ *
+ * Pode ser desligado com app.consultas.monitorar=false.
+ */
+@Component
+public class MonitorConsultas implements BeanPostProcessor {
+
+    // Parâmetros além deste número não entram na descrição do log
+    private static final int MAXIMO_PARAMETROS_DESCRITOS = 20;
+
+    private final ObjectProvider<RegistroConsultas> registroConsultas;
+    private final boolean ativo;
+    private volatile RegistroConsultas registro;
+
+    // O RegistroConsultas é buscado só na primeira consulta: um BeanPostProcessor é
+    // criado antes dos demais beans
+    public MonitorConsultas(ObjectProvider<RegistroConsultas> registroConsultas,
+                            @Value("${app.consultas.monitorar:true}") boolean ativo) {
+        this.registroConsultas = registroConsultas;
+        this.ativo = ativo;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nomeBean) {
+        if (ativo && bean instanceof DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return conexaoMonitorada(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String usuario, String senha) throws SQLException {
+                    return conexaoMonitorada(super.getConnection(usuario, senha));
+                }
+            };
+        }
+        return bean;
+    }
+
+    private Connection conexaoMonitorada(Connection conexao) {
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            Object resultado = invocar(metodo, conexao, argumentos);
+            if (resultado instanceof Statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                // prepareStatement(sql, ...) / prepareCall(sql, ...): o SQL é o primeiro argumento
+                String sql = (argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto) ? texto : null;
+                return comandoMonitorado(metodo.getReturnType(), resultado, sql);
+            }
+            return resultado;
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private Object comandoMonitorado(Class<?> tipo, Object comando, String sqlPreparado) {
+        List<String> tiposParametros = new ArrayList<>();
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            String nome = metodo.getName();
+            if (nome.startsWith("set") && argumentos != null && argumentos.length >= 2 && argumentos[0] instanceof Integer indice) {
+                // setNull(indice, tipoSql): o segundo argumento é o tipo, não o valor
+                registrarTipo(tiposParametros, indice, nome.equals("setNull") ? null : argumentos[1]);
+            } else if (nome.startsWith("execute")) {
+                // Statement.execute(sql): o SQL vem no argumento
+                String sql = (argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto) ? texto : sqlPreparado;
+                long inicio = System.nanoTime();
+                try {
+                    return invocar(metodo, comando, argumentos);
+                } finally {
+                    if (sql != null) {
+                        registro().registrar(sql, System.nanoTime() - inicio, tiposParametros);
+                    }
+                }
+            }
+            return invocar(metodo, comando, argumentos);
+        };
+        return Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private RegistroConsultas registro() {
+        RegistroConsultas atual = registro;
+        if (atual == null) {
+            atual = registroConsultas.getObject();
+            registro = atual;
+        }
+        return atual;
+    }
+
+    /**
+     * Guarda só o tipo do valor (ex: Integer, String, null), nunca o valor.
+     */
+    private static void registrarTipo(List<String> tiposParametros, int indice, Object valor) {
+        if (indice < 1 || indice > MAXIMO_PARAMETROS_DESCRITOS) {
+            return;
+        }
+        while (tiposParametros.size() < indice) {
+            tiposParametros.add("?");
+        }
+        tiposParametros.set(indice - 1, (valor == null) ? "null" : valor.getClass().getSimpleName());
+    }
+
+    private static Object invocar(Method metodo, Object alvo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
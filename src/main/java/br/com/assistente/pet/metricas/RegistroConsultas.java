@@ -0,0 +1,130 @@
+package br.com.assistente.pet.metricas;
+
+import model.ResumoConsulta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Guarda as estatísticas de cada comando SQL executado pelos DAOs, agrupadas pelo
+ * fingerprint (o SQL sem os valores literais): execuções, tempo total, máximo e p95.
+ * Comandos acima de app.consultas.limite-lenta-ms são registrados no log como consulta lenta,
+ * com os tipos dos parâmetros (nunca os valores, que podem ter dados pessoais).
+ */
+@Component
+public class RegistroConsultas {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroConsultas.class);
+
+    // Limite de fingerprints guardados (proteção contra SQL montado com valores concatenados)
+    private static final int MAXIMO_FINGERPRINTS = 2_000;
+    private static final String OUTROS = "(outros comandos)";
+
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA_IN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final long limiteLentaNanos;
+    private final Map<String, Estatistica> estatisticas = new ConcurrentHashMap<>();
+
+    // O mesmo SQL chega milhares de vezes: guarda o fingerprint já calculado
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    public RegistroConsultas(@Value("${app.consultas.limite-lenta-ms:200}") long limiteLentaMs) {
+        this.limiteLentaNanos = TimeUnit.MILLISECONDS.toNanos(limiteLentaMs);
+    }
+
+    /**
+     * Registra uma execução.
+     *
+     * @param sql O SQL enviado ao banco.
+     * @param duracaoNanos Quanto tempo a execução levou.
+     * @param tiposParametros Os tipos dos parâmetros (ex: [Integer, String]), para o log de consulta lenta.
+     */
+    void registrar(String sql, long duracaoNanos, List<String> tiposParametros) {
+        String fingerprint = fingerprint(sql);
+        Estatistica estatistica = estatisticas.get(fingerprint);
+        if (estatistica == null) {
+            String chave = (estatisticas.size() < MAXIMO_FINGERPRINTS) ? fingerprint : OUTROS;
+            estatistica = estatisticas.computeIfAbsent(chave, c -> new Estatistica());
+        }
+        estatistica.registrar(duracaoNanos);
+
+        if (duracaoNanos > limiteLentaNanos) {
+            log.warn("Consulta lenta ({} ms): {} | parâmetros: {}",
+                    TimeUnit.NANOSECONDS.toMillis(duracaoNanos), fingerprint, tiposParametros);
+        }
+    }
+
+    /**
+     * Retorna os N comandos que mais consumiram tempo do banco (tempo total), do maior para o menor.
+     */
+    public List<ResumoConsulta> maisCaros(int quantidade) {
+        return estatisticas.entrySet().stream()
+                .map(entrada -> entrada.getValue().resumo(entrada.getKey()))
+                .sorted(Comparator.comparingDouble(ResumoConsulta::getTempoTotalMs).reversed())
+                .limit(quantidade)
+                .toList();
+    }
+
+    /**
+     * O SQL sem valores literais (textos e números viram ?), com listas IN (?, ?, ...)
+     * resumidas para IN (?+) e os espaços normalizados.
+     */
+    String fingerprint(String sql) {
+        String conhecido = fingerprints.get(sql);
+        if (conhecido != null) {
+            return conhecido;
+        }
+        String fingerprint = TEXTO.matcher(sql).replaceAll("?");
+        fingerprint = NUMERO.matcher(fingerprint).replaceAll("?");
+        fingerprint = LISTA_IN.matcher(fingerprint).replaceAll("(?+)");
+        fingerprint = ESPACOS.matcher(fingerprint).replaceAll(" ").trim();
+        if (fingerprints.size() < MAXIMO_FINGERPRINTS) {
+            fingerprints.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Contadores de um fingerprint. As últimas execuções ficam num buffer circular,
+     * usado para calcular o p95 recente sem guardar todas as medições.
+     */
+    private static final class Estatistica {
+        private static final int AMOSTRAS = 1024;
+
+        private final long[] recentes = new long[AMOSTRAS];
+        private long execucoes;
+        private long totalNanos;
+        private long maximoNanos;
+
+        synchronized void registrar(long duracaoNanos) {
+            recentes[(int) (execucoes % AMOSTRAS)] = duracaoNanos;
+            execucoes++;
+            totalNanos += duracaoNanos;
+            maximoNanos = Math.max(maximoNanos, duracaoNanos);
+        }
+
+        synchronized ResumoConsulta resumo(String fingerprint) {
+            int quantidade = (int) Math.min(execucoes, AMOSTRAS);
+            long[] amostras = Arrays.copyOf(recentes, quantidade);
+            Arrays.sort(amostras);
+            long p95 = (quantidade == 0) ? 0 : amostras[(int) Math.ceil(quantidade * 0.95) - 1];
+            return new ResumoConsulta(fingerprint, execucoes, paraMs(totalNanos), paraMs(maximoNanos), paraMs(p95));
+        }
+
+        private static double paraMs(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.assistente.pet.migracoes;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Verificação feita pelo Flyway antes da migração V2, que cria o índice único uk_pessoa_email.
+ *
+ * Bancos criados antes do Flyway (adotados com baseline-on-migrate) podem ter o mesmo e-mail
+ * em mais de uma Pessoa. Nesse caso a V2 falharia com um "Duplicate entry" no meio da partida;
+ * aqui a partida para antes, com a quantidade de e-mails repetidos e o que fazer.
+ * Os e-mails não vão para o log (dado pessoal).
+ *
+ * Limpeza manual (não há como escolher automaticamente qual cadastro fica):
+ * 1. Listar:  SELECT email, GROUP_CONCAT(id_pessoa) FROM Pessoa GROUP BY email HAVING COUNT(*) > 1;
+ *    (a comparação segue a collation da coluna: no MySQL, "Ana@x.com" e "ana@x.com" são o mesmo e-mail)
+ * 2. Para cada e-mail, escolher a Pessoa que fica e passar para ela os pets
+ *    (UPDATE Possui SET id_dono = ? WHERE id_dono = ?) e o que mais for preciso;
+ * 3. Apagar as demais ou trocar o e-mail delas, e subir a API de novo.
+ */
+@Component
+public class VerificacaoEmailsDuplicados implements Callback {
+
+    private static final MigrationVersion VERSAO_INDICE_EMAIL = MigrationVersion.fromVersion("2");
+
+    private static final String SQL_REPETIDOS =
+            "SELECT COUNT(*) FROM (SELECT email FROM Pessoa GROUP BY email HAVING COUNT(*) > 1) repetidos";
+
+    @Override
+    public boolean supports(Event evento, Context contexto) {
+        if (evento != Event.BEFORE_EACH_MIGRATE) {
+            return false;
+        }
+        MigrationInfo migracao = contexto.getMigrationInfo();
+        return migracao != null && VERSAO_INDICE_EMAIL.equals(migracao.getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event evento, Context contexto) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event evento, Context contexto) {
+        // Só leitura: a conexão é a do Flyway e não pode ser fechada aqui
+        try (Statement comando = contexto.getConnection().createStatement();
+             ResultSet resultado = comando.executeQuery(SQL_REPETIDOS)) {
+            resultado.next();
+            long repetidos = resultado.getLong(1);
+            if (repetidos > 0) {
+                throw new FlywayException("A migração V2 cria o índice único uk_pessoa_email, mas " + repetidos
+                        + " e-mail(s) aparecem em mais de uma Pessoa. Junte ou corrija esses cadastros antes de subir a API"
+                        + " (consulta e passos na classe " + getClass().getName() + ").");
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Não foi possível verificar os e-mails repetidos antes da V2.", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "verificacao-emails-duplicados";
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.assistente.pet.seguranca;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o BCrypt (verificação e criptografia de senhas) em um pool próprio e limitado.
+ *
+ * O BCrypt é caro de propósito. Sem este pool, um pico de logins (ex: depois de uma
+ * notificação push) prende todas as threads do Tomcat dentro do BCrypt e o resto da API
+ * para de responder. Aqui o número de threads é igual ao de núcleos e a fila tem limite:
+ * quando ela enche, a chamada falha na hora com SobrecargaException (503 + Retry-After),
+ * e as leituras de /api/pets e /api/certificados continuam sendo atendidas.
+ *
+ * A fila deve ser bem menor que o número de threads do Tomcat (server.tomcat.threads.max).
+ * Com threads virtuais ligadas (spring.threads.virtual.enabled) este pool continua com
+ * threads normais: o BCrypt usa CPU o tempo todo e não ganha nada com threads virtuais.
+ */
+@Component
+public class ExecutorSenhas {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSegundos;
+
+    public ExecutorSenhas(PasswordEncoder passwordEncoder,
+                          @Value("${app.senhas.threads:0}") int threads,
+                          @Value("${app.senhas.fila:32}") int tamanhoFila,
+                          @Value("${app.senhas.timeout-ms:5000}") long timeoutMillis,
+                          @Value("${app.senhas.retry-after-segundos:2}") long retryAfterSegundos) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSegundos = retryAfterSegundos;
+
+        // 0 = uma thread por núcleo
+        int numeroThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(numeroThreads, numeroThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "bcrypt-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Compara a senha pura com o hash do banco (BCrypt), dentro do pool limitado.
+     * @throws SobrecargaException se o pool estiver cheio ou a verificação demorar demais.
+     */
+    public boolean verificar(String senhaPura, String senhaCriptografada) {
+        return executar(() -> passwordEncoder.matches(senhaPura, senhaCriptografada));
+    }
+
+    /**
+     * Criptografa uma senha (BCrypt), dentro do pool limitado.
+     * @throws SobrecargaException se o pool estiver cheio ou a operação demorar demais.
+     */
+    public String criptografar(String senhaPura) {
+        return executar(() -> passwordEncoder.encode(senhaPura));
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new SobrecargaException("Fila de verificação de senhas cheia.", retryAfterSegundos);
+        }
+
+        try {
+            return futuro.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new SobrecargaException("Verificação de senha demorou demais.", retryAfterSegundos);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SobrecargaException("Verificação de senha interrompida.", retryAfterSegundos);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao processar a senha.", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
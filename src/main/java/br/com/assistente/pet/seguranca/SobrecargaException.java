@@ -0,0 +1,19 @@
+package br.com.assistente.pet.seguranca;
+
+/**
+ * Lançada quando o pool de verificação de senhas está cheio (ex: pico de logins).
+ * Os controllers respondem 503 (Service Unavailable) com o cabeçalho Retry-After.
+ */
+public class SobrecargaException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    public SobrecargaException(String mensagem, long retryAfterSegundos) {
+        super(mensagem);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
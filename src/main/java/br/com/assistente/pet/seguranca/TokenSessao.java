@@ -0,0 +1,31 @@
+package br.com.assistente.pet.seguranca;
+
+import java.time.Instant;
+
+/**
+ * Os dados de uma sessão, lidos de um token já validado.
+ */
+public class TokenSessao {
+
+    private final int idPessoa;
+    private final String email;
+    private final Instant expiraEm;
+
+    public TokenSessao(int idPessoa, String email, Instant expiraEm) {
+        this.idPessoa = idPessoa;
+        this.email = email;
+        this.expiraEm = expiraEm;
+    }
+
+    public int getIdPessoa() {
+        return idPessoa;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Instant getExpiraEm() {
+        return expiraEm;
+    }
+}
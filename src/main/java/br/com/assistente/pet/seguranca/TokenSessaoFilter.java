@@ -0,0 +1,74 @@
+package br.com.assistente.pet.seguranca;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro do Spring Security que autentica a requisição pelo cabeçalho
+ * "Authorization: Bearer <token>" emitido no login.
+ * O principal da autenticação é o ID da Pessoa (Integer).
+ * Quem tem o e-mail em app.admin.emails recebe também o papel ADMIN (endpoints do back office).
+ *
+ * Não é um @Component de propósito: é criado no SecurityConfig, para não ser
+ * registrado também como filtro comum do servlet.
+ */
+public class TokenSessaoFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO_BEARER = "Bearer ";
+
+    // Papel das contas de administração (hasRole("ADMIN") no SecurityConfig)
+    public static final String PAPEL_ADMIN = "ADMIN";
+
+    private static final List<GrantedAuthority> AUTORIDADES_ADMIN = List.of(new SimpleGrantedAuthority("ROLE_" + PAPEL_ADMIN));
+
+    private final TokenSessaoService tokenSessaoService;
+    private final Set<String> emailsAdmin; // Em minúsculas
+
+    public TokenSessaoFilter(TokenSessaoService tokenSessaoService, Collection<String> emailsAdmin) {
+        this.tokenSessaoService = tokenSessaoService;
+        this.emailsAdmin = emailsAdmin.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (autorizacao != null && autorizacao.startsWith(PREFIXO_BEARER)) {
+            TokenSessao sessao = tokenSessaoService.validar(autorizacao.substring(PREFIXO_BEARER.length()).trim());
+            if (sessao != null) {
+                UsernamePasswordAuthenticationToken autenticacao =
+                        new UsernamePasswordAuthenticationToken(sessao.getIdPessoa(), null, autoridades(sessao));
+                autenticacao.setDetails(sessao);
+                SecurityContextHolder.getContext().setAuthentication(autenticacao);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private List<GrantedAuthority> autoridades(TokenSessao sessao) {
+        if (sessao.getEmail() != null && emailsAdmin.contains(sessao.getEmail().toLowerCase(Locale.ROOT))) {
+            return AUTORIDADES_ADMIN;
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.assistente.pet.seguranca;
+
+import model.Pessoa;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Emite e valida os tokens de sessão (stateless) entregues no login.
+ *
+ * Formato: <idChave>.<dados>.<assinatura>, onde 'dados' é "idPessoa|expiracao|email"
+ * em Base64 URL e 'assinatura' é o HMAC-SHA256 de "<idChave>.<dados>".
+ * Validar um token custa só um HMAC (microssegundos): sem banco e sem BCrypt.
+ *
+ * Rotação de chaves: app.token.chaves aceita várias chaves ("id:segredoBase64,..."),
+ * todas válidas para verificar; só a app.token.chave-ativa é usada para assinar.
+ */
+@Component
+public class TokenSessaoService {
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, SecretKeySpec> chaves = new HashMap<>();
+    private final String chaveAtiva;
+    private final Duration validade;
+
+    public TokenSessaoService(@Value("${app.token.chaves}") String chavesConfiguradas,
+                              @Value("${app.token.chave-ativa}") String chaveAtiva,
+                              @Value("${app.token.validade-minutos:10080}") long validadeMinutos) {
+        for (String item : chavesConfiguradas.split(",")) {
+            String[] partes = item.trim().split(":", 2);
+            if (partes.length != 2 || partes[0].isBlank()) {
+                throw new IllegalArgumentException("Formato inválido em app.token.chaves (use id:segredoBase64).");
+            }
+            byte[] segredo = Base64.getDecoder().decode(partes[1].trim());
+            chaves.put(partes[0].trim(), new SecretKeySpec(segredo, ALGORITMO));
+        }
+        if (!chaves.containsKey(chaveAtiva)) {
+            throw new IllegalArgumentException("A chave ativa '" + chaveAtiva + "' não está em app.token.chaves.");
+        }
+        this.chaveAtiva = chaveAtiva;
+        this.validade = Duration.ofMinutes(validadeMinutos);
+    }
+
+    /**
+     * Gera um novo token de sessão para a pessoa que acabou de fazer login.
+     */
+    public String gerar(Pessoa pessoa) {
+        long expiracao = Instant.now().plus(validade).getEpochSecond();
+        String dados = pessoa.getIdPessoa() + "|" + expiracao + "|" + pessoa.getEmail();
+        String cabecalho = chaveAtiva + "." + BASE64_URL.encodeToString(dados.getBytes(StandardCharsets.UTF_8));
+        return cabecalho + "." + BASE64_URL.encodeToString(assinar(chaves.get(chaveAtiva), cabecalho));
+    }
+
+    /**
+     * Valida o token (assinatura e expiração).
+     * @return Os dados da sessão, ou null se o token for inválido ou estiver vencido.
+     */
+    public TokenSessao validar(String token) {
+        if (token == null) {
+            return null;
+        }
+        int ponto1 = token.indexOf('.');
+        int ponto2 = token.lastIndexOf('.');
+        if (ponto1 <= 0 || ponto2 <= ponto1) {
+            return null;
+        }
+
+        SecretKeySpec chave = chaves.get(token.substring(0, ponto1));
+        if (chave == null) {
+            return null; // Chave desconhecida (ou já removida na rotação)
+        }
+
+        try {
+            String cabecalho = token.substring(0, ponto2);
+            byte[] assinaturaRecebida = BASE64_URL_DECODER.decode(token.substring(ponto2 + 1));
+            // Comparação em tempo constante
+            if (!MessageDigest.isEqual(assinar(chave, cabecalho), assinaturaRecebida)) {
+                return null;
+            }
+
+            String dados = new String(BASE64_URL_DECODER.decode(token.substring(ponto1 + 1, ponto2)), StandardCharsets.UTF_8);
+            String[] partes = dados.split("\\|", 3);
+            if (partes.length != 3) {
+                return null;
+            }
+            Instant expiraEm = Instant.ofEpochSecond(Long.parseLong(partes[1]));
+            if (Instant.now().isAfter(expiraEm)) {
+                return null;
+            }
+            return new TokenSessao(Integer.parseInt(partes[0]), partes[2], expiraEm);
+
+        } catch (IllegalArgumentException e) {
+            // Base64 ou números malformados
+            return null;
+        }
+    }
+
+    private byte[] assinar(SecretKeySpec chave, String conteudo) {
+        try {
+            // Mac não é thread-safe, então cada chamada usa a sua instância
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac.doFinal(conteudo.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível assinar o token de sessão.", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.assistente.pet.tarefas;
+
+import dao.ICoberturaVacinalDAO;
+import model.ResultadoBloco;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarefa em segundo plano que compacta a cobertura vacinal.
+ *
+ * Os DAOs gravam cada alteração de certificado como um delta em Cobertura_Vacinal_Delta;
+ * esta tarefa soma os deltas em Cobertura_Vacinal e os apaga, em blocos (cada bloco em uma
+ * transação curta), para que a consulta de /api/analises/cobertura leia poucos deltas.
+ * Os deltas ainda não compactados já entram na consulta: o intervalo só controla
+ * o tamanho da tabela de deltas, não o atraso dos números.
+ */
+@Component
+public class CompactacaoCobertura {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactacaoCobertura.class);
+
+    private final ICoberturaVacinalDAO coberturaDAO;
+    private final boolean ativo;
+    private final int tamanhoBloco;
+
+    public CompactacaoCobertura(ICoberturaVacinalDAO coberturaDAO,
+                                @Value("${app.cobertura.ativo:true}") boolean ativo,
+                                @Value("${app.cobertura.tamanho-bloco:1000}") int tamanhoBloco) {
+        this.coberturaDAO = coberturaDAO;
+        this.ativo = ativo;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cobertura.intervalo:PT5M}", initialDelayString = "${app.cobertura.atraso-inicial:PT1M}")
+    public void executar() {
+        if (!ativo) {
+            return;
+        }
+        long deltas = 0;
+        int blocos = 0;
+        try {
+            ResultadoBloco bloco;
+            while (!(bloco = coberturaDAO.compactarProximoBloco(tamanhoBloco)).isVazio()) {
+                deltas += bloco.getLidos();
+                blocos++;
+            }
+        } catch (Exception e) {
+            // Cada bloco é confirmado junto com a exclusão dos seus deltas: nada é somado duas vezes
+            log.error("Erro na compactação da cobertura vacinal após {} blocos", blocos, e);
+            return;
+        }
+
+        if (blocos > 0) {
+            log.info("Cobertura vacinal: {} deltas compactados em {} blocos", deltas, blocos);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.assistente.pet.tarefas;
+
+import dao.ILembreteVacinaDAO;
+import model.ResultadoBloco;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Tarefa em segundo plano que gera os lembretes de reforço de vacina.
+ *
+ * Uma vez por dia, percorre os certificados com proxima_dose na janela
+ * [hoje - atraso-maximo-dias, hoje + antecedencia-dias], em blocos pelo índice de
+ * proxima_dose, e grava os lembretes devidos na tabela Lembrete_Vacina (outbox).
+ * O envio das notificações é feito por quem lê essa tabela.
+ *
+ * - Memória limitada: cada bloco guarda só a última chave lida.
+ * - Retomável: o cursor fica em Checkpoint_Processo; depois de uma queda, a próxima
+ *   execução continua do último bloco confirmado.
+ * - Sem repetição: um reforço já lembrado nunca gera outro lembrete.
+ *
+ * Roda a cada app.lembretes.intervalo; depois que a varredura do dia termina,
+ * as execuções seguintes do mesmo dia não fazem nada.
+ */
+@Component
+public class MotorLembretes {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorLembretes.class);
+
+    private final ILembreteVacinaDAO lembreteDAO;
+    private final boolean ativo;
+    private final int antecedenciaDias;
+    private final int atrasoMaximoDias;
+    private final int tamanhoBloco;
+
+    public MotorLembretes(ILembreteVacinaDAO lembreteDAO,
+                          @Value("${app.lembretes.ativo:true}") boolean ativo,
+                          @Value("${app.lembretes.antecedencia-dias:7}") int antecedenciaDias,
+                          @Value("${app.lembretes.atraso-maximo-dias:30}") int atrasoMaximoDias,
+                          @Value("${app.lembretes.tamanho-bloco:1000}") int tamanhoBloco) {
+        this.lembreteDAO = lembreteDAO;
+        this.ativo = ativo;
+        this.antecedenciaDias = antecedenciaDias;
+        this.atrasoMaximoDias = atrasoMaximoDias;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    @Scheduled(fixedDelayString = "${app.lembretes.intervalo:PT1H}", initialDelayString = "${app.lembretes.atraso-inicial:PT1M}")
+    public void executar() {
+        if (!ativo) {
+            return;
+        }
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = hoje.minusDays(atrasoMaximoDias);
+        LocalDate fim = hoje.plusDays(antecedenciaDias);
+
+        long lidos = 0;
+        long gravados = 0;
+        int blocos = 0;
+        try {
+            ResultadoBloco bloco;
+            while (!(bloco = lembreteDAO.gerarProximoBloco(hoje, inicio, fim, tamanhoBloco)).isVazio()) {
+                lidos += bloco.getLidos();
+                gravados += bloco.getAfetados();
+                blocos++;
+            }
+        } catch (Exception e) {
+            // O checkpoint guarda o último bloco confirmado: a próxima execução continua dali
+            log.error("Erro na geração de lembretes de vacina após {} blocos", blocos, e);
+            return;
+        }
+
+        if (blocos > 0) {
+            log.info("Lembretes de vacina: {} certificados lidos em {} blocos, {} lembretes gravados (proxima_dose de {} a {})",
+                    lidos, blocos, gravados, inicio, fim);
+        }
+    }
+}
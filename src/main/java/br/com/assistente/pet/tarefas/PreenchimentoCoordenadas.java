@@ -0,0 +1,43 @@
+package br.com.assistente.pet.tarefas;
+
+import dao.IClinicaDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarefa que roda uma vez, na partida da API, e preenche pelo CEP as coordenadas das
+ * clínicas que ainda não têm (as cadastradas antes da V7, ou com CEP fora da base na época).
+ * As clínicas novas já são gravadas com coordenadas pelo ClinicaDAO.
+ * Várias instâncias podem rodar ao mesmo tempo: o UPDATE só grava onde a latitude ainda é nula.
+ */
+@Component
+public class PreenchimentoCoordenadas {
+
+    private static final Logger log = LoggerFactory.getLogger(PreenchimentoCoordenadas.class);
+
+    private final IClinicaDAO clinicaDAO;
+    private final boolean ativo;
+
+    public PreenchimentoCoordenadas(IClinicaDAO clinicaDAO,
+                                    @Value("${app.geo.preencher-na-partida:true}") boolean ativo) {
+        this.clinicaDAO = clinicaDAO;
+        this.ativo = ativo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void executar() {
+        if (!ativo) {
+            return;
+        }
+        try {
+            clinicaDAO.preencherCoordenadas();
+        } catch (Exception e) {
+            // Não impede a API de funcionar: essas clínicas só ficam fora da busca por proximidade
+            log.error("Erro ao preencher as coordenadas das clínicas pelo CEP", e);
+        }
+    }
+}
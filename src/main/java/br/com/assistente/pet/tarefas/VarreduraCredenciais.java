@@ -0,0 +1,82 @@
+package br.com.assistente.pet.tarefas;
+
+import dao.IValidadeCredencialDAO;
+import model.BlocoCredenciais;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Tarefa em segundo plano que age sobre a validade das credenciais de serviço.
+ *
+ * Uma vez por dia, percorre as credenciais com data_validade na janela
+ * [hoje - dias-passados, hoje + aviso-dias], em blocos pelo índice de data_validade:
+ * - credencial mais recente já vencida: o animal passa para 'Credencial Vencida'
+ *   (um UPDATE por bloco) e é gravado um aviso 'VENCIDA';
+ * - credencial mais recente vencendo no prazo de aviso: é gravado um aviso 'A_VENCER' (um por dia).
+ *
+ * Cada bloco é uma transação curta com checkpoint (como no MotorLembretes), então a
+ * varredura nunca segura transações longas nem resultados grandes, e retoma após uma queda.
+ * Os avisos vão para a tabela de saída Aviso_Credencial na transação do bloco (como os
+ * lembretes em Lembrete_Vacina), de onde o serviço de notificações os envia.
+ */
+@Component
+public class VarreduraCredenciais {
+
+    private static final Logger log = LoggerFactory.getLogger(VarreduraCredenciais.class);
+
+    private final IValidadeCredencialDAO validadeDAO;
+    private final boolean ativo;
+    private final int avisoDias;
+    private final int diasPassados;
+    private final int tamanhoBloco;
+
+    public VarreduraCredenciais(IValidadeCredencialDAO validadeDAO,
+                                @Value("${app.credenciais.ativo:true}") boolean ativo,
+                                @Value("${app.credenciais.aviso-dias:30}") int avisoDias,
+                                @Value("${app.credenciais.dias-passados:30}") int diasPassados,
+                                @Value("${app.credenciais.tamanho-bloco:1000}") int tamanhoBloco) {
+        this.validadeDAO = validadeDAO;
+        this.ativo = ativo;
+        this.avisoDias = avisoDias;
+        this.diasPassados = diasPassados;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    @Scheduled(fixedDelayString = "${app.credenciais.intervalo:PT1H}", initialDelayString = "${app.credenciais.atraso-inicial:PT2M}")
+    public void executar() {
+        if (!ativo) {
+            return;
+        }
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = hoje.minusDays(diasPassados);
+        LocalDate fimAviso = hoje.plusDays(avisoDias);
+
+        long lidas = 0;
+        long vencidas = 0;
+        long aVencer = 0;
+        int blocos = 0;
+        try {
+            BlocoCredenciais bloco;
+            while (!(bloco = validadeDAO.processarProximoBloco(hoje, inicio, fimAviso, tamanhoBloco)).isVazio()) {
+                lidas += bloco.getLidas();
+                vencidas += bloco.getVencidas().size();
+                aVencer += bloco.getAVencer().size();
+                blocos++;
+            }
+        } catch (Exception e) {
+            // O checkpoint guarda o último bloco confirmado: a próxima execução continua dali
+            log.error("Erro na varredura de validade das credenciais após {} blocos", blocos, e);
+            return;
+        }
+
+        if (blocos > 0) {
+            log.info("Validade das credenciais: {} lidas em {} blocos, {} animais com credencial vencida, {} credenciais a vencer",
+                    lidas, blocos, vencidas, aVencer);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dao;
+
+import model.Clinica;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Base local de faixas de CEP com as coordenadas da localidade (arquivo app.geo.faixas-cep),
+ * usada para preencher latitude/longitude das clínicas sem chamar serviço externo.
+ * A base que vem com a API é por cidade: todas as clínicas de uma cidade ficam no mesmo ponto,
+ * então ela é só uma aproximação para clínicas sem coordenadas (o cadastro exige latitude/longitude).
+ * O arquivo é lido uma vez na partida; cada consulta é um floorEntry no TreeMap pelo início da faixa.
+ */
+@Component
+public class BaseCoordenadasCep {
+
+    private static final Logger log = LoggerFactory.getLogger(BaseCoordenadasCep.class);
+
+    // Início da faixa (CEP com 8 dígitos, como número) -> faixa
+    private final TreeMap<Integer, Faixa> faixas = new TreeMap<>();
+
+    public BaseCoordenadasCep(@Value("${app.geo.faixas-cep:classpath:geo/faixas-cep.csv}") Resource arquivo) {
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                // cep_inicial;cep_final;latitude;longitude;localidade
+                String[] campos = linha.split(";");
+                faixas.put(Integer.parseInt(campos[0]),
+                        new Faixa(Integer.parseInt(campos[1]), Double.parseDouble(campos[2]), Double.parseDouble(campos[3])));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler a base de faixas de CEP: " + arquivo, e);
+        }
+        log.info("Base de faixas de CEP carregada: faixas={}", faixas.size());
+    }
+
+    /**
+     * Preenche latitude e longitude da clínica pelo CEP, se ela ainda não tem coordenadas
+     * e o CEP está em alguma faixa da base.
+     * @return true se as coordenadas foram preenchidas.
+     */
+    public boolean preencher(Clinica clinica) {
+        if (clinica.getLatitude() != null && clinica.getLongitude() != null) {
+            return false;
+        }
+        Integer cep = cepNumerico(clinica.getCep());
+        if (cep == null) {
+            return false;
+        }
+        Map.Entry<Integer, Faixa> entrada = faixas.floorEntry(cep);
+        if (entrada == null || cep > entrada.getValue().fim) {
+            return false;
+        }
+        clinica.setLatitude(entrada.getValue().latitude);
+        clinica.setLongitude(entrada.getValue().longitude);
+        return true;
+    }
+
+    /**
+     * Se os dois CEPs são o mesmo, ignorando a formatação ("01310-100" e "01310100").
+     */
+    static boolean mesmoCep(String cep, String outro) {
+        return Objects.equals(cepNumerico(cep), cepNumerico(outro));
+    }
+
+    // "01310-100" -> 1310100; null se não tiver 8 dígitos
+    private static Integer cepNumerico(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        String digitos = cep.replaceAll("\\D", "");
+        return digitos.length() == 8 ? Integer.valueOf(digitos) : null;
+    }
+
+    private static final class Faixa {
+        private final int fim;
+        private final double latitude;
+        private final double longitude;
+
+        Faixa(int fim, double latitude, double longitude) {
+            this.fim = fim;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache em memória do tipo read-through, usado pelos DAOs dos catálogos
+ * (Vacina, Habilidade), que mudam pouco e são lidos o tempo todo.
+ * - Tamanho limitado: quando enche, remove a entrada usada há mais tempo (LRU).
+ * - TTL: cada entrada expira depois de um tempo, para pegar alterações feitas por outros servidores.
+ * - Invalidação: os DAOs chamam invalidar() no salvar/atualizar/deletar, depois do commit (DepoisDoCommit).
+ * - Contadores de acertos, faltas e remoções (expostos em /api/admin/caches).
+ * Os blocos synchronized são curtos e não fazem I/O (a consulta ao banco fica fora deles),
+ * então não prendem a thread portadora quando a API roda com threads virtuais.
+ */
+public class CacheLeitura<K, V> {
+
+    private final String nome;
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    private long acertos;
+    private long faltas;
+    private long remocoes;
+
+    // Muda a cada invalidação, para que uma leitura em andamento não grave um valor antigo
+    private long geracao;
+
+    public CacheLeitura(String nome, int tamanhoMaximo, long ttlMillis) {
+        this.nome = nome;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        // accessOrder = true: a ordem de iteração é a do uso mais recente (LRU)
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                if (size() > CacheLeitura.this.tamanhoMaximo) {
+                    remocoes++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor da chave, buscando no banco (carregador) apenas se não estiver no cache.
+     * Valores nulos (registro não encontrado) não são guardados.
+     */
+    public V obter(K chave, Function<K, V> carregador) {
+        long geracaoDaLeitura;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (entrada.expiraEm - System.nanoTime() > 0) {
+                    acertos++;
+                    return entrada.valor;
+                }
+                entradas.remove(chave);
+                remocoes++;
+            }
+            faltas++;
+            geracaoDaLeitura = geracao;
+        }
+
+        // A consulta ao banco acontece fora do bloqueio
+        V valor = carregador.apply(chave);
+
+        if (valor != null) {
+            synchronized (this) {
+                if (geracao == geracaoDaLeitura) {
+                    entradas.put(chave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Remove uma chave do cache (chamado quando o registro é alterado).
+     */
+    public synchronized void invalidar(K chave) {
+        geracao++;
+        entradas.remove(chave);
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public synchronized void invalidarTudo() {
+        geracao++;
+        entradas.clear();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Retorna uma cópia dos contadores do cache.
+     */
+    public synchronized Map<String, Long> estatisticas() {
+        Map<String, Long> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("tamanho", (long) entradas.size());
+        estatisticas.put("tamanhoMaximo", (long) tamanhoMaximo);
+        estatisticas.put("acertos", acertos);
+        estatisticas.put("faltas", faltas);
+        estatisticas.put("remocoes", remocoes);
+        return estatisticas;
+    }
+
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long expiraEm;
+
+        private Entrada(V valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * O conteúdo de um catálogo junto com a versão lida do banco, guardados na mesma
+ * entrada do cache: o ETag e a lista devolvidos ao app vêm sempre da mesma leitura.
+ */
+final class CatalogoVersionado<T> {
+
+    private final long versao;
+    private final List<T> itens;
+
+    CatalogoVersionado(long versao, List<T> itens) {
+        this.versao = versao;
+        // Lista imutável, pois a mesma instância é compartilhada pelo cache
+        this.itens = Collections.unmodifiableList(itens);
+    }
+
+    long getVersao() {
+        return versao;
+    }
+
+    List<T> getItens() {
+        return itens;
+    }
+}
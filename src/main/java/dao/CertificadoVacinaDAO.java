@@ -1,16 +1,30 @@
 package dao;
 
 import model.CertificadoVacina;
+import model.ResultadoLote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.Date;
 import java.sql.PreparedStatement;
-import java.sql.Statement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementação do DAO para CertificadoVacina, agora usando Spring Boot e JdbcTemplate.
@@ -18,21 +32,30 @@ import java.util.List;
 @Repository
 public class CertificadoVacinaDAO implements ICertificadoVacinaDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(CertificadoVacinaDAO.class);
+
+    // Só o ID volta como chave gerada: sem isso o H2 devolve também a coluna atualizado_em
+    // (preenchida pelo banco) e o keyHolder.getKey() falha com "multiple keys"
+    private static final String[] COLUNAS_CHAVE = {"id_certificado_vac"};
+
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate; // Usado nas inserções em lote
 
     @Autowired
-    public CertificadoVacinaDAO(JdbcTemplate jdbcTemplate) {
+    public CertificadoVacinaDAO(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
+    @Transactional
     public CertificadoVacina salvar(CertificadoVacina certificado) {
         String sql = "INSERT INTO CertificadoVacina (data_aplicacao, lote, proxima_dose, id_pet, id_vacina, id_veterinario, id_clinica) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
         jdbcTemplate.update(connection -> {
-            PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            PreparedStatement stmt = connection.prepareStatement(sql, COLUNAS_CHAVE);
             stmt.setDate(1, Date.valueOf(certificado.getDataAplicacao()));
             stmt.setString(2, certificado.getLote());
             stmt.setDate(3, certificado.getProximaDose() != null ? Date.valueOf(certificado.getProximaDose()) : null);
@@ -44,12 +67,69 @@ public class CertificadoVacinaDAO implements ICertificadoVacinaDAO {
         }, keyHolder);
 
         certificado.setIdCertificadoVac(keyHolder.getKey().intValue());
-        System.out.println("Certificado de vacina salvo com sucesso!");
+        DeltaCobertura.somar(jdbcTemplate, "c.id_certificado_vac = ?", certificado.getIdCertificadoVac());
+        log.debug("Certificado de vacina salvo: id={}", certificado.getIdCertificadoVac());
         return certificado;
     }
 
     @Override
+    public ResultadoLote salvarEmLote(List<CertificadoVacina> certificados) {
+        return InsercaoEmLote.executar(certificados, transactionTemplate,
+                certificado -> certificado.getDataAplicacao() != null ? null : "A data de aplicação é obrigatória.",
+                this::inserirBloco,
+                CertificadoVacina::getIdCertificadoVac);
+    }
+
+    /**
+     * Insere um bloco de certificados com um INSERT em lote.
+     * Os IDs gerados voltam na mesma ordem do bloco.
+     */
+    private void inserirBloco(List<CertificadoVacina> bloco) {
+        String sql = "INSERT INTO CertificadoVacina (data_aplicacao, lote, proxima_dose, id_pet, id_vacina, id_veterinario, id_clinica) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(sql, COLUNAS_CHAVE)) {
+                for (CertificadoVacina certificado : bloco) {
+                    stmt.setDate(1, Date.valueOf(certificado.getDataAplicacao()));
+                    stmt.setString(2, certificado.getLote());
+                    stmt.setDate(3, certificado.getProximaDose() != null ? Date.valueOf(certificado.getProximaDose()) : null);
+                    stmt.setInt(4, certificado.getIdPet());
+                    stmt.setInt(5, certificado.getIdVacina());
+                    stmt.setInt(6, certificado.getIdVeterinario());
+                    stmt.setInt(7, certificado.getIdClinica());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                try (ResultSet chaves = stmt.getGeneratedKeys()) {
+                    int i = 0;
+                    while (chaves.next() && i < bloco.size()) {
+                        bloco.get(i++).setIdCertificadoVac(chaves.getInt(1));
+                    }
+                    if (i != bloco.size()) {
+                        throw new SQLException("O banco devolveu " + i + " IDs para " + bloco.size() + " certificados.");
+                    }
+                }
+            }
+            return null;
+        });
+
+        // Na mesma transação do bloco (InsercaoEmLote): um delta por grupo, não por certificado
+        Object[] ids = bloco.stream().map(CertificadoVacina::getIdCertificadoVac).toArray();
+        DeltaCobertura.somar(jdbcTemplate, "c.id_certificado_vac IN (" + ConsultaEmBlocos.marcadores(ids.length) + ")", ids);
+    }
+
+    @Override
+    @Transactional
     public boolean deletar(int id) {
+        // Registra a exclusão para a sincronização do dono do pet
+        String sqlExcluido = "INSERT INTO Registro_Excluido (tabela, id_excluido, id_dono) " +
+                "SELECT 'CertificadoVacina', c.id_certificado_vac, po.id_dono FROM CertificadoVacina c " +
+                "JOIN Possui po ON po.id_pet = c.id_pet WHERE c.id_certificado_vac = ?";
+        jdbcTemplate.update(sqlExcluido, id);
+        DeltaCobertura.subtrair(jdbcTemplate, "c.id_certificado_vac = ?", id);
+
         String sql = "DELETE FROM CertificadoVacina WHERE id_certificado_vac = ?";
         int affectedRows = jdbcTemplate.update(sql, id);
         return affectedRows > 0;
@@ -79,21 +159,45 @@ public class CertificadoVacinaDAO implements ICertificadoVacinaDAO {
         String sql = "SELECT * FROM CertificadoVacina WHERE id_certificado_vac = ?";
         try {
             return jdbcTemplate.queryForObject(sql, new Object[]{id}, this::mapRowToCertificado);
+        } catch (EmptyResultDataAccessException e) {
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Certificado não encontrado: id={}", id);
+            return null;
         } catch (Exception e) {
-            System.err.println("Certificado não encontrado: " + e.getMessage());
+            log.error("Erro ao buscar certificado: id={}", id, e);
             return null;
         }
     }
 
     @Override
     public List<CertificadoVacina> listarPorPet(int idPet) {
-        String sql = "SELECT * FROM CertificadoVacina WHERE id_pet = ?";
+        String sql = "SELECT * FROM CertificadoVacina WHERE id_pet = ? ORDER BY data_aplicacao";
         try {
             return jdbcTemplate.query(sql, new Object[]{idPet}, this::mapRowToCertificado);
         } catch (Exception e) {
-            System.err.println("Erro ao listar certificados por pet: " + e.getMessage());
+            log.error("Erro ao listar certificados por pet: idPet={}", idPet, e);
             return java.util.Collections.emptyList(); // Retorna lista vazia em caso de erro
         }
     }
-}
 
+    @Override
+    public Map<Integer, List<CertificadoVacina>> listarPorPets(Collection<Integer> idsPets) {
+        // Usa o índice (id_pet, data_aplicacao): cada pet já sai em ordem de aplicação
+        List<CertificadoVacina> certificados = ConsultaEmBlocos.executar(idsPets, (marcadores, ids) ->
+                jdbcTemplate.query("SELECT * FROM CertificadoVacina WHERE id_pet IN (" + marcadores + ") " +
+                        "ORDER BY id_pet, data_aplicacao", ids, this::mapRowToCertificado));
+
+        Map<Integer, List<CertificadoVacina>> porPet = new LinkedHashMap<>();
+        for (CertificadoVacina certificado : certificados) {
+            porPet.computeIfAbsent(certificado.getIdPet(), id -> new ArrayList<>()).add(certificado);
+        }
+        return porPet;
+    }
+
+    @Override
+    public List<CertificadoVacina> listarAlteradosPorDono(int idDono, Instant desde) {
+        String sql = "SELECT c.* FROM CertificadoVacina c JOIN Possui po ON po.id_pet = c.id_pet " +
+                "WHERE po.id_dono = ? AND c.atualizado_em > ? ORDER BY c.id_pet, c.data_aplicacao";
+
+        return jdbcTemplate.query(sql, new Object[]{idDono, Timestamp.from(desde)}, this::mapRowToCertificado);
+    }
+}
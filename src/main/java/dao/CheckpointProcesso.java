@@ -0,0 +1,96 @@
+package dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * A posição (cursor) de uma tarefa em blocos, gravada em Checkpoint_Processo.
+ * Cada bloco roda em uma transação curta que trava a linha do processo (FOR UPDATE),
+ * lê o cursor, processa o bloco e avança o cursor: se o servidor cair, a tarefa
+ * recomeça do último bloco confirmado. Com vários servidores, os blocos se
+ * revezam em vez de repetir o mesmo trabalho.
+ *
+ * Deve ser usado dentro de uma transação.
+ */
+final class CheckpointProcesso {
+
+    private final String processo;
+    private final LocalDate execucao;
+    private LocalDate cursorData;
+    private Integer cursorId;
+    private boolean concluido;
+
+    private CheckpointProcesso(String processo, LocalDate execucao, LocalDate cursorData, Integer cursorId, boolean concluido) {
+        this.processo = processo;
+        this.execucao = execucao;
+        this.cursorData = cursorData;
+        this.cursorId = cursorId;
+        this.concluido = concluido;
+    }
+
+    /**
+     * Trava e lê o checkpoint do processo. Se a última varredura foi em outro dia,
+     * começa uma nova (sem cursor).
+     */
+    static CheckpointProcesso bloquear(JdbcTemplate jdbcTemplate, String processo, LocalDate hoje) {
+        String sql = "SELECT execucao, cursor_data, cursor_id, concluido FROM Checkpoint_Processo " +
+                "WHERE processo = ? FOR UPDATE";
+
+        return jdbcTemplate.queryForObject(sql, new Object[]{processo}, (rs, rowNum) -> {
+            Date execucao = rs.getDate("execucao");
+            if (execucao == null || !execucao.toLocalDate().equals(hoje)) {
+                return new CheckpointProcesso(processo, hoje, null, null, false);
+            }
+            Date cursorData = rs.getDate("cursor_data");
+            int cursorId = rs.getInt("cursor_id");
+            return new CheckpointProcesso(processo, hoje,
+                    (cursorData == null) ? null : cursorData.toLocalDate(),
+                    rs.wasNull() ? null : cursorId,
+                    rs.getBoolean("concluido"));
+        });
+    }
+
+    /**
+     * Grava a última chave processada (o próximo bloco começa depois dela).
+     */
+    void avancar(JdbcTemplate jdbcTemplate, LocalDate data, int id) {
+        cursorData = data;
+        cursorId = id;
+        gravar(jdbcTemplate);
+    }
+
+    /**
+     * Marca a varredura do dia como terminada.
+     */
+    void concluir(JdbcTemplate jdbcTemplate) {
+        concluido = true;
+        gravar(jdbcTemplate);
+    }
+
+    private void gravar(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("UPDATE Checkpoint_Processo SET execucao = ?, cursor_data = ?, cursor_id = ?, concluido = ? " +
+                        "WHERE processo = ?",
+                Date.valueOf(execucao), (cursorData == null) ? null : Date.valueOf(cursorData), cursorId, concluido, processo);
+    }
+
+    boolean isConcluido() {
+        return concluido;
+    }
+
+    /**
+     * Diz se a varredura já tem cursor (false no primeiro bloco do dia).
+     */
+    boolean temCursor() {
+        return cursorData != null && cursorId != null;
+    }
+
+    LocalDate getCursorData() {
+        return cursorData;
+    }
+
+    int getCursorId() {
+        return cursorId;
+    }
+}
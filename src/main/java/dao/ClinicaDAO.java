@@ -1,15 +1,24 @@
 package dao;
 
 import model.Clinica;
+import model.ClinicaProxima;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Implementação do DAO para Clinica, agora usando Spring Boot e JdbcTemplate.
@@ -17,17 +26,42 @@ import java.util.List;
 @Repository
 public class ClinicaDAO implements IClinicaDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(ClinicaDAO.class);
+
+    // Chave única usada para guardar o catálogo completo no cache
+    private static final String CHAVE_CATALOGO = "todos";
+
+    // Nome da tabela em Versao_Tabela
+    private static final String TABELA = "Clinica";
+
     private final JdbcTemplate jdbcTemplate;
 
+    // Cache em memória do catálogo completo (o app consulta a lista de clínicas o tempo todo)
+    private final CacheLeitura<String, CatalogoVersionado<Clinica>> cacheCatalogo;
+
+    // Índice em memória da busca por nome, bairro e cidade (/api/clinicas/busca)
+    private final IndiceBuscaClinicas indiceBusca = new IndiceBuscaClinicas();
+
+    // Base local CEP -> coordenadas (centro da cidade), usada só quando a clínica não tem latitude/longitude:
+    // clínicas antigas e atualizações sem coordenadas. O POST /api/clinicas exige as coordenadas.
+    private final BaseCoordenadasCep baseCoordenadas;
+
+    // Índice espacial das clínicas (/api/clinicas/proximas); trocado por inteiro quando o catálogo muda
+    private volatile IndiceEspacialClinicas indiceEspacial;
+
     @Autowired
-    public ClinicaDAO(JdbcTemplate jdbcTemplate) {
+    public ClinicaDAO(JdbcTemplate jdbcTemplate, RegistroCaches registroCaches, BaseCoordenadasCep baseCoordenadas) {
         this.jdbcTemplate = jdbcTemplate;
+        this.cacheCatalogo = registroCaches.criar("clinicas-catalogo");
+        this.baseCoordenadas = baseCoordenadas;
     }
 
     @Override
+    @Transactional
     public Clinica salvar(Clinica clinica) {
-        String sql = "INSERT INTO Clinica (nome, email, rua, numero, bairro, cidade, CEP) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO Clinica (nome, email, rua, numero, bairro, cidade, CEP, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
+        baseCoordenadas.preencher(clinica);
 
         jdbcTemplate.update(connection -> {
             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
@@ -38,17 +72,42 @@ public class ClinicaDAO implements IClinicaDAO {
             stmt.setString(5, clinica.getBairro());
             stmt.setString(6, clinica.getCidade());
             stmt.setString(7, clinica.getCep());
+            stmt.setObject(8, clinica.getLatitude());
+            stmt.setObject(9, clinica.getLongitude());
             return stmt;
         }, keyHolder);
 
         clinica.setIdClinica(keyHolder.getKey().intValue());
-        System.out.println("Clínica salva com sucesso!");
+        long versaoNova = VersaoTabela.incrementarELer(jdbcTemplate, TABELA);
+        // O índice de busca e o cache só mudam depois do commit: um rollback não deixa
+        // clínica fantasma no índice, e ninguém recarrega o catálogo antigo para o cache
+        DepoisDoCommit.executar(() -> {
+            indiceBusca.salvar(clinica, versaoNova);
+            cacheCatalogo.invalidarTudo();
+        });
+        log.debug("Clínica salva: id={}", clinica.getIdClinica());
         return clinica;
     }
 
     @Override
+    @Transactional
     public boolean atualizar(Clinica clinica) {
-        String sql = "UPDATE Clinica SET nome = ?, email = ?, rua = ?, numero = ?, bairro = ?, cidade = ?, CEP = ? WHERE id_clinica = ?";
+        String sql = "UPDATE Clinica SET nome = ?, email = ?, rua = ?, numero = ?, bairro = ?, cidade = ?, CEP = ?, latitude = ?, longitude = ? WHERE id_clinica = ?";
+        // O app costuma devolver as coordenadas que leu. Se o CEP mudou e elas são as gravadas,
+        // são do endereço antigo: vêm de novo do CEP novo (ou ficam vazias, se ele não está na base).
+        // Coordenadas diferentes das gravadas foram enviadas de propósito e são mantidas.
+        List<Clinica> gravadas = jdbcTemplate.query(
+                "SELECT CEP, latitude, longitude FROM Clinica WHERE id_clinica = ?",
+                new Object[]{clinica.getIdClinica()}, this::mapRowToCepECoordenadas);
+        if (!gravadas.isEmpty() && coordenadasDoCepAntigo(gravadas.get(0), clinica)) {
+            clinica.setLatitude(null);
+            clinica.setLongitude(null);
+        }
+        baseCoordenadas.preencher(clinica);
+
+        // Cobertura vacinal: se a cidade muda, os certificados da clínica passam para a nova cidade
+        int gruposAntigos = DeltaCobertura.subtrair(jdbcTemplate,
+                "c.id_clinica = ? AND COALESCE(cl.cidade, '') <> COALESCE(?, '')", clinica.getIdClinica(), clinica.getCidade());
 
         int affectedRows = jdbcTemplate.update(sql,
                 clinica.getNome(),
@@ -58,57 +117,174 @@ public class ClinicaDAO implements IClinicaDAO {
                 clinica.getBairro(),
                 clinica.getCidade(),
                 clinica.getCep(),
+                clinica.getLatitude(),
+                clinica.getLongitude(),
                 clinica.getIdClinica()
         );
+        if (affectedRows > 0) {
+            long versaoNova = VersaoTabela.incrementarELer(jdbcTemplate, TABELA);
+            DepoisDoCommit.executar(() -> indiceBusca.salvar(clinica, versaoNova));
+        }
+        if (gruposAntigos > 0) {
+            DeltaCobertura.somar(jdbcTemplate, "c.id_clinica = ?", clinica.getIdClinica());
+        }
+
+        DepoisDoCommit.executar(cacheCatalogo::invalidarTudo);
 
         return affectedRows > 0;
     }
 
     @Override
+    @Transactional
     public boolean deletar(int id) {
         String sql = "DELETE FROM Clinica WHERE id_clinica = ?";
         int affectedRows = jdbcTemplate.update(sql, id);
+        if (affectedRows > 0) {
+            long versaoNova = VersaoTabela.incrementarELer(jdbcTemplate, TABELA);
+            DepoisDoCommit.executar(() -> indiceBusca.remover(id, versaoNova));
+        }
+
+        DepoisDoCommit.executar(cacheCatalogo::invalidarTudo);
+
         return affectedRows > 0;
     }
 
+    @Override
+    @Transactional
+    public int preencherCoordenadas() {
+        List<Clinica> semCoordenadas = jdbcTemplate.query(
+                "SELECT id_clinica, CEP FROM Clinica WHERE latitude IS NULL AND CEP IS NOT NULL",
+                (rs, rowNum) -> {
+                    Clinica clinica = new Clinica();
+                    clinica.setIdClinica(rs.getInt("id_clinica"));
+                    clinica.setCep(rs.getString("CEP"));
+                    return clinica;
+                });
+
+        List<Object[]> parametros = new ArrayList<>();
+        for (Clinica clinica : semCoordenadas) {
+            if (baseCoordenadas.preencher(clinica)) {
+                parametros.add(new Object[]{clinica.getLatitude(), clinica.getLongitude(), clinica.getIdClinica()});
+            }
+        }
+        if (parametros.isEmpty()) {
+            return 0;
+        }
+
+        // "latitude IS NULL" de novo: não sobrescreve coordenadas gravadas no meio tempo
+        jdbcTemplate.batchUpdate("UPDATE Clinica SET latitude = ?, longitude = ? WHERE id_clinica = ? AND latitude IS NULL", parametros);
+        VersaoTabela.incrementar(jdbcTemplate, TABELA);
+        DepoisDoCommit.executar(cacheCatalogo::invalidarTudo);
+        log.info("Coordenadas preenchidas pelo CEP: clinicas={}, semFaixa={}",
+                parametros.size(), semCoordenadas.size() - parametros.size());
+        return parametros.size();
+    }
+
+    private static boolean coordenadasDoCepAntigo(Clinica gravada, Clinica enviada) {
+        return !BaseCoordenadasCep.mesmoCep(gravada.getCep(), enviada.getCep())
+                && Objects.equals(gravada.getLatitude(), enviada.getLatitude())
+                && Objects.equals(gravada.getLongitude(), enviada.getLongitude());
+    }
+
+    // Helper (RowMapper) só com o CEP e as coordenadas (usado no atualizar)
+    private Clinica mapRowToCepECoordenadas(ResultSet rs, int rowNum) throws SQLException {
+        Clinica clinica = new Clinica();
+        clinica.setCep(rs.getString("CEP"));
+        double latitude = rs.getDouble("latitude");
+        clinica.setLatitude(rs.wasNull() ? null : latitude);
+        double longitude = rs.getDouble("longitude");
+        clinica.setLongitude(rs.wasNull() ? null : longitude);
+        return clinica;
+    }
+
+    // Helper (RowMapper) para converter o ResultSet em objeto Clinica
+    private Clinica mapRowToClinica(ResultSet rs, int rowNum) throws SQLException {
+        Clinica clinica = new Clinica();
+        clinica.setIdClinica(rs.getInt("id_clinica"));
+        clinica.setNome(rs.getString("nome"));
+        clinica.setEmail(rs.getString("email"));
+        clinica.setRua(rs.getString("rua"));
+        clinica.setNumero(rs.getString("numero"));
+        clinica.setBairro(rs.getString("bairro"));
+        clinica.setCidade(rs.getString("cidade"));
+        clinica.setCep(rs.getString("CEP"));
+        double latitude = rs.getDouble("latitude");
+        clinica.setLatitude(rs.wasNull() ? null : latitude);
+        double longitude = rs.getDouble("longitude");
+        clinica.setLongitude(rs.wasNull() ? null : longitude);
+        return clinica;
+    }
+
     @Override
     public Clinica buscarPorId(int id) {
         String sql = "SELECT * FROM Clinica WHERE id_clinica = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new Object[]{id}, (rs, rowNum) -> {
-                Clinica clinica = new Clinica();
-                clinica.setIdClinica(rs.getInt("id_clinica"));
-                clinica.setNome(rs.getString("nome"));
-                clinica.setEmail(rs.getString("email"));
-                clinica.setRua(rs.getString("rua"));
-                clinica.setNumero(rs.getString("numero"));
-                clinica.setBairro(rs.getString("bairro"));
-                clinica.setCidade(rs.getString("cidade"));
-                clinica.setCep(rs.getString("CEP"));
-                return clinica;
-            });
+            return jdbcTemplate.queryForObject(sql, new Object[]{id}, this::mapRowToClinica);
+        } catch (EmptyResultDataAccessException e) {
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Clínica não encontrada: id={}", id);
+            return null;
         } catch (Exception e) {
-            System.err.println("Clínica não encontrada: " + e.getMessage());
+            log.error("Erro ao buscar clínica: id={}", id, e);
             return null;
         }
     }
 
     @Override
     public List<Clinica> listarTodos() {
+        return catalogo().getItens();
+    }
+
+    @Override
+    public long versaoCatalogo() {
+        return catalogo().getVersao();
+    }
+
+    @Override
+    public List<Clinica> buscar(String texto, int limite) {
+        // O catálogo vem do cache (sem ir ao banco na maioria das buscas); se ele tem uma versão
+        // mais nova que o índice, alguma alteração veio de outro servidor e o índice é refeito
+        CatalogoVersionado<Clinica> atual = catalogo();
+        if (atual.getVersao() > indiceBusca.getVersao()) {
+            indiceBusca.reconstruir(atual.getVersao(), atual.getItens());
+            log.info("Índice de busca de clínicas reconstruído: versao={}, clinicas={}",
+                    atual.getVersao(), atual.getItens().size());
+        }
+        return indiceBusca.buscar(texto, limite);
+    }
+
+    @Override
+    public List<ClinicaProxima> listarProximas(double latitude, double longitude, int k) {
+        // Como na busca por texto: o catálogo vem do cache e o índice só é remontado quando a versão
+        // muda (a KD-tree é imutável; montar de novo custa milissegundos e escritas são raras)
+        CatalogoVersionado<Clinica> atual = catalogo();
+        IndiceEspacialClinicas indice = indiceEspacial;
+        if (indice == null || indice.getVersao() != atual.getVersao()) {
+            indice = IndiceEspacialClinicas.construir(atual.getVersao(), atual.getItens());
+            indiceEspacial = indice;
+            log.info("Índice espacial de clínicas reconstruído: versao={}, comCoordenadas={}",
+                    atual.getVersao(), indice.tamanho());
+        }
+        return indice.proximas(latitude, longitude, k);
+    }
+
+    private CatalogoVersionado<Clinica> catalogo() {
+        return cacheCatalogo.obter(CHAVE_CATALOGO, chave -> listarNoBanco());
+    }
+
+    private CatalogoVersionado<Clinica> listarNoBanco() {
+        // A versão é lida antes da lista: se houver uma escrita no meio, o app recebe uma versão
+        // mais antiga que a lista (e baixa tudo de novo na próxima vez), nunca o contrário
+        long versao = VersaoTabela.ler(jdbcTemplate, TABELA);
         String sql = "SELECT * FROM Clinica";
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Clinica clinica = new Clinica();
-            clinica.setIdClinica(rs.getInt("id_clinica"));
-            clinica.setNome(rs.getString("nome"));
-            clinica.setEmail(rs.getString("email"));
-            clinica.setRua(rs.getString("rua"));
-            clinica.setNumero(rs.getString("numero"));
-            clinica.setBairro(rs.getString("bairro"));
-            clinica.setCidade(rs.getString("cidade"));
-            clinica.setCep(rs.getString("CEP"));
-            return clinica;
-        });
+        return new CatalogoVersionado<>(versao, jdbcTemplate.query(sql, this::mapRowToClinica));
+    }
+
+    @Override
+    public List<Clinica> listarPagina(int depoisDe, int limite) {
+        String sql = "SELECT * FROM Clinica WHERE id_clinica > ? ORDER BY id_clinica LIMIT ?";
+
+        return jdbcTemplate.query(sql, new Object[]{depoisDe, limite}, this::mapRowToClinica);
     }
 }
 
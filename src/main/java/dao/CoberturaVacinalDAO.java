@@ -0,0 +1,111 @@
+package dao;
+
+import model.CoberturaVacinal;
+import model.ResultadoBloco;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação do DAO da cobertura vacinal, usando JdbcTemplate.
+ * A leitura soma Cobertura_Vacinal com os deltas pendentes; a compactação move os deltas
+ * para Cobertura_Vacinal em blocos, cada bloco em uma transação curta.
+ */
+@Repository
+public class CoberturaVacinalDAO implements ICoberturaVacinalDAO {
+
+    // Nome do processo em Checkpoint_Processo (só a trava da linha é usada, não o cursor)
+    private static final String PROCESSO = "cobertura-vacinal";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate; // Uma transação curta por bloco
+
+    @Autowired
+    public CoberturaVacinalDAO(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public List<CoberturaVacinal> listar(Integer idVacina, String especie, String cidade) {
+        StringBuilder filtros = new StringBuilder();
+        List<Object> parametros = new ArrayList<>();
+        if (idVacina != null) {
+            filtros.append(" AND t.id_vacina = ?");
+            parametros.add(idVacina);
+        }
+        if (especie != null) {
+            filtros.append(" AND t.especie = ?");
+            parametros.add(especie);
+        }
+        if (cidade != null) {
+            filtros.append(" AND t.cidade = ?");
+            parametros.add(cidade);
+        }
+
+        String sql = "SELECT t.id_vacina, v.nome_vacina, t.especie, t.cidade, SUM(t.certificados) AS certificados " +
+                "FROM (SELECT id_vacina, especie, cidade, certificados FROM Cobertura_Vacinal " +
+                "      UNION ALL " +
+                "      SELECT id_vacina, especie, cidade, certificados FROM Cobertura_Vacinal_Delta) t " +
+                "JOIN Vacina v ON v.id_vacina = t.id_vacina " +
+                "WHERE 1 = 1" + filtros + " " +
+                "GROUP BY t.id_vacina, v.nome_vacina, t.especie, t.cidade " +
+                "HAVING SUM(t.certificados) > 0 " +
+                "ORDER BY v.nome_vacina, t.especie, t.cidade";
+
+        return jdbcTemplate.query(sql, parametros.toArray(), this::mapRowToCobertura);
+    }
+
+    @Override
+    public ResultadoBloco compactarProximoBloco(int tamanhoBloco) {
+        return transactionTemplate.execute(status -> {
+            // Trava a linha do processo: a compactação de outro servidor espera este bloco terminar
+            CheckpointProcesso checkpoint = CheckpointProcesso.bloquear(jdbcTemplate, PROCESSO, LocalDate.now());
+
+            // Os deltas mais antigos que existem agora. Sem cursor: os compactados são apagados,
+            // e um delta de uma transação que confirmou atrasada (ID menor) entra no próximo bloco
+            List<Long> ids = jdbcTemplate.query(
+                    "SELECT id_delta FROM Cobertura_Vacinal_Delta ORDER BY id_delta LIMIT ?",
+                    new Object[]{tamanhoBloco}, (rs, rowNum) -> rs.getLong("id_delta"));
+            if (ids.isEmpty()) {
+                checkpoint.concluir(jdbcTemplate);
+                // Grupos que chegaram a zero (ex: pet excluído) não aparecem mais na consulta
+                jdbcTemplate.update("DELETE FROM Cobertura_Vacinal WHERE certificados = 0");
+                return ResultadoBloco.VAZIO;
+            }
+
+            String marcadores = ConsultaEmBlocos.marcadores(ids.size());
+            Object[] parametros = ids.toArray();
+            String sqlSoma = "INSERT INTO Cobertura_Vacinal (id_vacina, especie, cidade, certificados) " +
+                    "SELECT d.id_vacina, d.especie, d.cidade, SUM(d.certificados) FROM Cobertura_Vacinal_Delta d " +
+                    "WHERE d.id_delta IN (" + marcadores + ") " +
+                    "GROUP BY d.id_vacina, d.especie, d.cidade " +
+                    "ON DUPLICATE KEY UPDATE certificados = Cobertura_Vacinal.certificados + VALUES(certificados)";
+            // Linhas afetadas como o MySQL conta: 1 por grupo novo, 2 por grupo somado
+            int afetados = jdbcTemplate.update(sqlSoma, parametros);
+
+            jdbcTemplate.update("DELETE FROM Cobertura_Vacinal_Delta WHERE id_delta IN (" + marcadores + ")", parametros);
+            return new ResultadoBloco(ids.size(), afetados);
+        });
+    }
+
+    // Helper (RowMapper); '' (espécie ou cidade desconhecida) volta como null
+    private CoberturaVacinal mapRowToCobertura(ResultSet rs, int rowNum) throws SQLException {
+        CoberturaVacinal cobertura = new CoberturaVacinal();
+        cobertura.setIdVacina(rs.getInt("id_vacina"));
+        cobertura.setNomeVacina(rs.getString("nome_vacina"));
+        String especie = rs.getString("especie");
+        cobertura.setEspecie(especie.isEmpty() ? null : especie);
+        String cidade = rs.getString("cidade");
+        cobertura.setCidade(cidade.isEmpty() ? null : cidade);
+        cobertura.setCertificados(rs.getLong("certificados"));
+        return cobertura;
+    }
+}
@@ -0,0 +1,46 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Lógica comum das consultas por vários IDs de uma vez (WHERE x IN (?, ?, ...)).
+ * Os IDs são divididos em blocos, para não montar um IN gigante: cada bloco vira
+ * uma consulta, e os resultados são juntados na ordem dos blocos.
+ */
+final class ConsultaEmBlocos {
+
+    static final int TAMANHO_BLOCO = 500;
+
+    private ConsultaEmBlocos() {
+    }
+
+    /**
+     * @param ids Os IDs a buscar (repetidos são ignorados).
+     * @param consulta Recebe os marcadores do IN (ex: "?, ?, ?") e os IDs do bloco, e faz a consulta.
+     * @return As linhas de todos os blocos.
+     */
+    static <T> List<T> executar(Collection<Integer> ids, BiFunction<String, Object[], List<T>> consulta) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> unicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<T> resultado = new ArrayList<>();
+        for (int inicio = 0; inicio < unicos.size(); inicio += TAMANHO_BLOCO) {
+            List<Integer> bloco = unicos.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, unicos.size()));
+            resultado.addAll(consulta.apply(marcadores(bloco.size()), bloco.toArray()));
+        }
+        return resultado;
+    }
+
+    /**
+     * Os marcadores de um IN com 'quantidade' valores (ex: 3 -> "?, ?, ?").
+     */
+    static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+}
@@ -1,17 +1,29 @@
 package dao;
 
+import model.AnimalDeServico;
 import model.CredencialServico;
 import model.Habilidade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
-import java.sql.Statement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementação do DAO para CredencialServico, usando Spring Boot e JdbcTemplate.
@@ -20,13 +32,17 @@ import java.util.List;
 @Repository
 public class CredencialServicoDAO implements ICredencialServicoDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(CredencialServicoDAO.class);
+
+    // Só o ID volta como chave gerada: sem isso o H2 devolve também a coluna atualizado_em
+    // (preenchida pelo banco) e o keyHolder.getKey() falha com "multiple keys"
+    private static final String[] COLUNAS_CHAVE = {"id_credencial"};
+
     private final JdbcTemplate jdbcTemplate;
-    private final IHabilidadeDAO habilidadeDAO; // Dependência para buscar habilidades
 
     @Autowired
-    public CredencialServicoDAO(JdbcTemplate jdbcTemplate, IHabilidadeDAO habilidadeDAO) {
+    public CredencialServicoDAO(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
-        this.habilidadeDAO = habilidadeDAO;
     }
 
     @Override
@@ -37,7 +53,7 @@ public class CredencialServicoDAO implements ICredencialServicoDAO {
 
         // 1. Salvar a Credencial_Servico
         jdbcTemplate.update(connection -> {
-            PreparedStatement stmt = connection.prepareStatement(sqlCredencial, Statement.RETURN_GENERATED_KEYS);
+            PreparedStatement stmt = connection.prepareStatement(sqlCredencial, COLUNAS_CHAVE);
             stmt.setDate(1, java.sql.Date.valueOf(credencial.getDataEmissao()));
             stmt.setDate(2, java.sql.Date.valueOf(credencial.getDataValidade()));
             stmt.setInt(3, credencial.getIdAnimalServico());
@@ -48,36 +64,46 @@ public class CredencialServicoDAO implements ICredencialServicoDAO {
         int idCredencial = keyHolder.getKey().intValue();
         credencial.setIdCredencial(idCredencial);
 
-        // 2. Salvar a Relação M:N (Credencial_Habilidade)
+        // 2. Salvar a Relação M:N (Credencial_Habilidade) em lote: uma única ida ao banco
         String sqlHabilidade = "INSERT INTO Credencial_Habilidade (id_credencial, id_habilidade) VALUES (?, ?)";
         if (credencial.getHabilidades() != null && !credencial.getHabilidades().isEmpty()) {
-            for (Habilidade habilidade : credencial.getHabilidades()) {
-                jdbcTemplate.update(sqlHabilidade, idCredencial, habilidade.getIdHabilidade());
+            jdbcTemplate.batchUpdate(sqlHabilidade, credencial.getHabilidades(), credencial.getHabilidades().size(),
+                    (stmt, habilidade) -> {
+                        stmt.setInt(1, idCredencial);
+                        stmt.setInt(2, habilidade.getIdHabilidade());
+                    });
+        }
+
+        // 3. Renovação: se o animal estava com a credencial vencida (VarreduraCredenciais), volta a 'Ativo'
+        if (!credencial.getDataValidade().isBefore(LocalDate.now())) {
+            int reativados = jdbcTemplate.update("UPDATE Animal_de_Servico SET status = ? WHERE id_pet = ? AND status = ?",
+                    AnimalDeServico.STATUS_ATIVO, credencial.getIdAnimalServico(), AnimalDeServico.STATUS_CREDENCIAL_VENCIDA);
+            if (reativados > 0) {
+                jdbcTemplate.update("UPDATE Pet SET atualizado_em = CURRENT_TIMESTAMP(6) WHERE id_pet = ?",
+                        credencial.getIdAnimalServico());
             }
         }
 
         return credencial;
     }
 
+    /**
+     * SELECT base das buscas de credencial.
+     * Os LEFT JOINs trazem as habilidades (relação M:N) na mesma consulta:
+     * uma linha por habilidade, ou uma linha só se a credencial não tiver nenhuma.
+     */
+    private static final String SQL_SELECT_CREDENCIAL = "SELECT cs.*, h.id_habilidade, h.descricao_habilidade " +
+            "FROM Credencial_Servico cs " +
+            "LEFT JOIN Credencial_Habilidade ch ON ch.id_credencial = cs.id_credencial " +
+            "LEFT JOIN Habilidade h ON h.id_habilidade = ch.id_habilidade ";
+
     @Override
     public CredencialServico buscarPorId(int id) {
-        String sql = "SELECT * FROM Credencial_Servico WHERE id_credencial = ?";
+        String sql = SQL_SELECT_CREDENCIAL + "WHERE cs.id_credencial = ? ORDER BY h.id_habilidade";
         try {
-            CredencialServico credencial = jdbcTemplate.queryForObject(sql, new Object[]{id}, (rs, rowNum) -> {
-                CredencialServico cs = new CredencialServico();
-                cs.setIdCredencial(rs.getInt("id_credencial"));
-                cs.setDataEmissao(rs.getDate("data_emissao").toLocalDate());
-                cs.setDataValidade(rs.getDate("data_validade").toLocalDate());
-                cs.setIdAnimalServico(rs.getInt("id_animal_servico"));
-                cs.setIdTreinador(rs.getInt("id_treinador"));
-                return cs;
-            });
-
-            // Carregar as habilidades (Relação M:N)
-            if (credencial != null) {
-                carregarHabilidades(credencial);
-            }
-            return credencial;
+            List<CredencialServico> credenciais = jdbcTemplate.query(sql, new Object[]{id},
+                    (ResultSetExtractor<List<CredencialServico>>) this::extrairCredenciais);
+            return credenciais.isEmpty() ? null : credenciais.get(0);
 
         } catch (Exception e) {
             return null;
@@ -86,42 +112,73 @@ public class CredencialServicoDAO implements ICredencialServicoDAO {
 
     @Override
     public CredencialServico buscarPorAnimalId(int idAnimal) {
-        String sql = "SELECT * FROM Credencial_Servico WHERE id_animal_servico = ?";
+        // Se o animal tiver mais de uma credencial (renovação), retorna a de validade mais longa
+        String sql = SQL_SELECT_CREDENCIAL + "WHERE cs.id_animal_servico = ? " +
+                "ORDER BY cs.data_validade DESC, cs.id_credencial DESC, h.id_habilidade";
         try {
-            CredencialServico credencial = jdbcTemplate.queryForObject(sql, new Object[]{idAnimal}, (rs, rowNum) -> {
-                CredencialServico cs = new CredencialServico();
-                cs.setIdCredencial(rs.getInt("id_credencial"));
-                cs.setDataEmissao(rs.getDate("data_emissao").toLocalDate());
-                cs.setDataValidade(rs.getDate("data_validade").toLocalDate());
-                cs.setIdAnimalServico(rs.getInt("id_animal_servico"));
-                cs.setIdTreinador(rs.getInt("id_treinador"));
-                return cs;
-            });
-
-            // Carregar as habilidades (Relação M:N)
-            if (credencial != null) {
-                carregarHabilidades(credencial);
-            }
-            return credencial;
+            List<CredencialServico> credenciais = jdbcTemplate.query(sql, new Object[]{idAnimal},
+                    (ResultSetExtractor<List<CredencialServico>>) this::extrairCredenciais);
+            return credenciais.isEmpty() ? null : credenciais.get(0);
 
         } catch (Exception e) {
             return null;
         }
     }
 
+    @Override
+    public Map<Integer, List<CredencialServico>> listarPorAnimais(Collection<Integer> idsAnimais) {
+        // Os blocos de IDs são disjuntos, então uma credencial nunca fica dividida entre dois blocos
+        List<CredencialServico> credenciais = ConsultaEmBlocos.executar(idsAnimais, (marcadores, ids) ->
+                jdbcTemplate.query(SQL_SELECT_CREDENCIAL + "WHERE cs.id_animal_servico IN (" + marcadores + ") " +
+                                "ORDER BY cs.id_animal_servico, cs.data_validade DESC, cs.id_credencial DESC, h.id_habilidade",
+                        ids, (ResultSetExtractor<List<CredencialServico>>) this::extrairCredenciais));
+
+        Map<Integer, List<CredencialServico>> porAnimal = new LinkedHashMap<>();
+        for (CredencialServico credencial : credenciais) {
+            porAnimal.computeIfAbsent(credencial.getIdAnimalServico(), id -> new ArrayList<>()).add(credencial);
+        }
+        return porAnimal;
+    }
+
+    @Override
+    public List<CredencialServico> listarAlteradasPorDono(int idDono, Instant desde) {
+        String sql = SQL_SELECT_CREDENCIAL + "JOIN Possui po ON po.id_pet = cs.id_animal_servico " +
+                "WHERE po.id_dono = ? AND cs.atualizado_em > ? ORDER BY cs.id_credencial, h.id_habilidade";
+
+        return jdbcTemplate.query(sql, new Object[]{idDono, Timestamp.from(desde)},
+                (ResultSetExtractor<List<CredencialServico>>) this::extrairCredenciais);
+    }
+
     /**
-     * Método auxiliar para carregar a lista de habilidades (M:N)
+     * Monta as credenciais (com suas habilidades) a partir das linhas do JOIN.
+     * As linhas de uma mesma credencial são agrupadas em memória pelo id_credencial.
      */
-    private void carregarHabilidades(CredencialServico credencial) {
-        String sql = "SELECT id_habilidade FROM Credencial_Habilidade WHERE id_credencial = ?";
-        List<Integer> idsHabilidades = jdbcTemplate.queryForList(sql, new Object[]{credencial.getIdCredencial()}, Integer.class);
-
-        for (int idHab : idsHabilidades) {
-            Habilidade habilidade = habilidadeDAO.buscarPorId(idHab);
-            if (habilidade != null) {
-                credencial.addHabilidade(habilidade);
+    private List<CredencialServico> extrairCredenciais(ResultSet rs) throws SQLException {
+        Map<Integer, CredencialServico> credenciais = new LinkedHashMap<>();
+
+        while (rs.next()) {
+            int idCredencial = rs.getInt("id_credencial");
+            CredencialServico cs = credenciais.get(idCredencial);
+            if (cs == null) {
+                cs = new CredencialServico();
+                cs.setIdCredencial(idCredencial);
+                cs.setDataEmissao(rs.getDate("data_emissao").toLocalDate());
+                cs.setDataValidade(rs.getDate("data_validade").toLocalDate());
+                cs.setIdAnimalServico(rs.getInt("id_animal_servico"));
+                cs.setIdTreinador(rs.getInt("id_treinador"));
+                credenciais.put(idCredencial, cs);
+            }
+
+            // Sem habilidades, o LEFT JOIN devolve id_habilidade NULL
+            int idHabilidade = rs.getInt("id_habilidade");
+            if (!rs.wasNull()) {
+                Habilidade habilidade = new Habilidade();
+                habilidade.setIdHabilidade(idHabilidade);
+                habilidade.setDescricaoHabilidade(rs.getString("descricao_habilidade"));
+                cs.addHabilidade(habilidade);
             }
         }
+        return new ArrayList<>(credenciais.values());
     }
 
     // --- MÉTODO QUE FALTAVA ---
@@ -129,6 +186,12 @@ public class CredencialServicoDAO implements ICredencialServicoDAO {
     @Transactional
     public boolean deletar(int id) {
         try {
+            // 0. Registrar a exclusão para a sincronização do dono do animal
+            String sqlExcluido = "INSERT INTO Registro_Excluido (tabela, id_excluido, id_dono) " +
+                    "SELECT 'Credencial_Servico', cs.id_credencial, po.id_dono FROM Credencial_Servico cs " +
+                    "JOIN Possui po ON po.id_pet = cs.id_animal_servico WHERE cs.id_credencial = ?";
+            jdbcTemplate.update(sqlExcluido, id);
+
             // 1. Deletar da tabela de junção M:N
             String sqlHabilidades = "DELETE FROM Credencial_Habilidade WHERE id_credencial = ?";
             jdbcTemplate.update(sqlHabilidades, id);
@@ -139,7 +202,7 @@ public class CredencialServicoDAO implements ICredencialServicoDAO {
 
             return affectedRows > 0;
         } catch (Exception e) {
-            System.err.println("Erro ao deletar credencial: " + e.getMessage());
+            log.error("Erro ao deletar credencial: id={}", id, e);
             // A transação será revertida automaticamente pelo Spring em caso de exceção
             return false;
         }
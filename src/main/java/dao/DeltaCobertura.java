@@ -0,0 +1,44 @@
+package dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Grava os deltas da cobertura vacinal (tabela Cobertura_Vacinal_Delta) a partir dos
+ * certificados afetados por uma escrita. Usado pelos DAOs que mudam a contagem:
+ * CertificadoVacina (salvar/deletar), Pet (espécie, exclusão) e Clinica (cidade).
+ * Um INSERT ... SELECT por escrita, agrupado por vacina, espécie e cidade.
+ *
+ * Deve ser chamado dentro da transação da escrita.
+ */
+final class DeltaCobertura {
+
+    private DeltaCobertura() {
+    }
+
+    /**
+     * Soma os certificados que atendem ao filtro (depois de um INSERT, ou com os valores novos).
+     * @param filtro Condição sobre c (CertificadoVacina), p (Pet) e cl (Clinica), ex: "c.id_pet = ?".
+     */
+    static int somar(JdbcTemplate jdbcTemplate, String filtro, Object... parametros) {
+        return registrar(jdbcTemplate, "COUNT(*)", filtro, parametros);
+    }
+
+    /**
+     * Subtrai os certificados que atendem ao filtro (antes de um DELETE, ou com os valores antigos).
+     * @param filtro Condição sobre c (CertificadoVacina), p (Pet) e cl (Clinica), ex: "c.id_pet = ?".
+     */
+    static int subtrair(JdbcTemplate jdbcTemplate, String filtro, Object... parametros) {
+        return registrar(jdbcTemplate, "-COUNT(*)", filtro, parametros);
+    }
+
+    private static int registrar(JdbcTemplate jdbcTemplate, String contagem, String filtro, Object... parametros) {
+        String sql = "INSERT INTO Cobertura_Vacinal_Delta (id_vacina, especie, cidade, certificados) " +
+                "SELECT c.id_vacina, COALESCE(p.especie, ''), COALESCE(cl.cidade, ''), " + contagem + " " +
+                "FROM CertificadoVacina c " +
+                "JOIN Pet p ON p.id_pet = c.id_pet " +
+                "JOIN Clinica cl ON cl.id_clinica = c.id_clinica " +
+                "WHERE " + filtro + " " +
+                "GROUP BY c.id_vacina, COALESCE(p.especie, ''), COALESCE(cl.cidade, '')";
+        return jdbcTemplate.update(sql, parametros);
+    }
+}
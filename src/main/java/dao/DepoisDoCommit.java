@@ -0,0 +1,31 @@
+package dao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia uma ação em memória (invalidar cache, atualizar índice) para depois do commit
+ * da transação atual. Antes do commit, outra requisição ainda lê os dados antigos do banco
+ * e gravaria no cache um valor que já vai mudar; depois de um rollback, não há nada a desfazer.
+ */
+final class DepoisDoCommit {
+
+    private DepoisDoCommit() {
+    }
+
+    /**
+     * Executa a ação depois do commit. Fora de transação, executa na hora.
+     */
+    static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -1,11 +1,15 @@
 package dao;
 
 import model.Habilidade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -19,14 +23,29 @@ import java.util.List;
 @Repository
 public class HabilidadeDAO implements IHabilidadeDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(HabilidadeDAO.class);
+
+    // Chave única usada para guardar o catálogo completo no cache
+    private static final String CHAVE_CATALOGO = "todos";
+
+    // Nome da tabela em Versao_Tabela
+    private static final String TABELA = "Habilidade";
+
     private final JdbcTemplate jdbcTemplate;
 
+    // Caches em memória: o catálogo muda pouco e é lido o tempo todo
+    private final CacheLeitura<Integer, Habilidade> cachePorId;
+    private final CacheLeitura<String, CatalogoVersionado<Habilidade>> cacheCatalogo;
+
     @Autowired
-    public HabilidadeDAO(JdbcTemplate jdbcTemplate) {
+    public HabilidadeDAO(JdbcTemplate jdbcTemplate, RegistroCaches registroCaches) {
         this.jdbcTemplate = jdbcTemplate;
+        this.cachePorId = registroCaches.criar("habilidades");
+        this.cacheCatalogo = registroCaches.criar("habilidades-catalogo");
     }
 
     @Override
+    @Transactional
     public Habilidade salvar(Habilidade habilidade) {
         String sql = "INSERT INTO Habilidade (descricao_habilidade) VALUES (?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
@@ -38,11 +57,16 @@ public class HabilidadeDAO implements IHabilidadeDAO {
         }, keyHolder);
 
         habilidade.setIdHabilidade(keyHolder.getKey().intValue());
-        System.out.println("Habilidade salva com sucesso!");
+        VersaoTabela.incrementar(jdbcTemplate, TABELA);
+        // Só depois do commit: antes dele, uma leitura do catálogo ainda veria o banco antigo
+        // e o guardaria no cache (com o ETag da versão nova) até o TTL
+        DepoisDoCommit.executar(cacheCatalogo::invalidarTudo);
+        log.debug("Habilidade salva: id={}", habilidade.getIdHabilidade());
         return habilidade;
     }
 
     @Override
+    @Transactional
     public boolean atualizar(Habilidade habilidade) {
         String sql = "UPDATE Habilidade SET descricao_habilidade = ? WHERE id_habilidade = ?";
 
@@ -50,14 +74,32 @@ public class HabilidadeDAO implements IHabilidadeDAO {
                 habilidade.getDescricaoHabilidade(),
                 habilidade.getIdHabilidade()
         );
+        if (affectedRows > 0) {
+            VersaoTabela.incrementar(jdbcTemplate, TABELA);
+        }
+
+        DepoisDoCommit.executar(() -> {
+            cachePorId.invalidar(habilidade.getIdHabilidade());
+            cacheCatalogo.invalidarTudo();
+        });
 
         return affectedRows > 0;
     }
 
     @Override
+    @Transactional
     public boolean deletar(int id) {
         String sql = "DELETE FROM Habilidade WHERE id_habilidade = ?";
         int affectedRows = jdbcTemplate.update(sql, id);
+        if (affectedRows > 0) {
+            VersaoTabela.incrementar(jdbcTemplate, TABELA);
+        }
+
+        DepoisDoCommit.executar(() -> {
+            cachePorId.invalidar(id);
+            cacheCatalogo.invalidarTudo();
+        });
+
         return affectedRows > 0;
     }
 
@@ -71,24 +113,58 @@ public class HabilidadeDAO implements IHabilidadeDAO {
 
     @Override
     public Habilidade buscarPorId(int id) {
+        return cachePorId.obter(id, this::buscarNoBanco);
+    }
+
+    private Habilidade buscarNoBanco(int id) {
         String sql = "SELECT * FROM Habilidade WHERE id_habilidade = ?";
         try {
             return jdbcTemplate.queryForObject(sql, new Object[]{id}, this::mapRowToHabilidade);
+        } catch (EmptyResultDataAccessException e) {
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Habilidade não encontrada: id={}", id);
+            return null;
         } catch (Exception e) {
-            System.err.println("Habilidade não encontrada: " + e.getMessage());
+            log.error("Erro ao buscar habilidade: id={}", id, e);
             return null;
         }
     }
 
     @Override
     public List<Habilidade> listarTodos() {
+        try {
+            return catalogo().getItens();
+        } catch (Exception e) {
+            log.error("Erro ao listar habilidades", e);
+            return java.util.Collections.emptyList();
+        }
+    }
+
+    @Override
+    public long versaoCatalogo() {
+        return catalogo().getVersao();
+    }
+
+    private CatalogoVersionado<Habilidade> catalogo() {
+        return cacheCatalogo.obter(CHAVE_CATALOGO, chave -> listarNoBanco());
+    }
+
+    private CatalogoVersionado<Habilidade> listarNoBanco() {
+        // A versão é lida antes da lista: se houver uma escrita no meio, o app recebe uma versão
+        // mais antiga que a lista (e baixa tudo de novo na próxima vez), nunca o contrário
+        long versao = VersaoTabela.ler(jdbcTemplate, TABELA);
         String sql = "SELECT * FROM Habilidade";
+
+        return new CatalogoVersionado<>(versao, jdbcTemplate.query(sql, this::mapRowToHabilidade));
+    }
+
+    @Override
+    public List<Habilidade> listarPagina(int depoisDe, int limite) {
+        String sql = "SELECT * FROM Habilidade WHERE id_habilidade > ? ORDER BY id_habilidade LIMIT ?";
         try {
-            return jdbcTemplate.query(sql, this::mapRowToHabilidade);
+            return jdbcTemplate.query(sql, new Object[]{depoisDe, limite}, this::mapRowToHabilidade);
         } catch (Exception e) {
-            System.err.println("Erro ao listar habilidades: " + e.getMessage());
+            log.error("Erro ao listar habilidades", e);
             return java.util.Collections.emptyList();
         }
     }
 }
-
@@ -1,7 +1,11 @@
 package dao;
 
 import model.CertificadoVacina;
+import model.ResultadoLote;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface que define o contrato para as operações de persistência
@@ -16,6 +20,14 @@ public interface ICertificadoVacinaDAO {
      */
     CertificadoVacina salvar(CertificadoVacina certificado);
 
+    /**
+     * Salva vários Certificados de Vacina de uma vez, usando INSERTs em lote.
+     * Um item com erro não impede que os demais sejam salvos.
+     * @param certificados Os certificados a serem salvos.
+     * @return O resultado de cada item (ID gerado ou erro), na mesma ordem da lista.
+     */
+    ResultadoLote salvarEmLote(List<CertificadoVacina> certificados);
+
     /**
      * Deleta um Certificado de Vacina do banco pelo ID.
      * @param id O ID do Certificado a ser deletado.
@@ -36,5 +48,23 @@ public interface ICertificadoVacinaDAO {
      * @return Uma lista de CertificadoVacina.
      */
     List<CertificadoVacina> listarPorPet(int idPet);
+
+    /**
+     * Lista os Certificados de Vacina de vários pets de uma vez (consulta com IN, sem laço por pet).
+     * @param idsPets Os IDs dos Pets.
+     * @return Os certificados de cada pet (pelo ID do pet), em ordem de aplicação.
+     *         Pets sem certificado não aparecem no mapa.
+     *         Erros do banco não viram mapa vazio: a exceção sobe (o painel responde 5xx).
+     */
+    Map<Integer, List<CertificadoVacina>> listarPorPets(Collection<Integer> idsPets);
+
+    /**
+     * Lista os Certificados de Vacina dos pets de um dono criados ou alterados depois de um instante
+     * (sincronização incremental).
+     * @param idDono O ID do Dono.
+     * @param desde Retorna apenas certificados com 'atualizado_em' posterior a este instante.
+     * @return Uma lista de CertificadoVacina (vazia se nada mudou).
+     */
+    List<CertificadoVacina> listarAlteradosPorDono(int idDono, Instant desde);
 }
 
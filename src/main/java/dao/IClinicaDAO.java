@@ -1,6 +1,7 @@
 package dao;
 
 import model.Clinica;
+import model.ClinicaProxima;
 import java.util.List;
 
 /**
@@ -19,6 +20,7 @@ public interface IClinicaDAO {
 
     /**
      * Atualiza uma Clinica existente no banco.
+     * Se o CEP mudou e as coordenadas enviadas são as já gravadas, elas são refeitas pelo CEP novo.
      * @param clinica O objeto Clinica com os dados atualizados.
      * @return true se a atualização foi bem-sucedida.
      */
@@ -43,5 +45,46 @@ public interface IClinicaDAO {
      * @return Uma lista de Clinicas.
      */
     List<Clinica> listarTodos();
+
+    /**
+     * Retorna a versão atual do catálogo, que muda a cada salvar/atualizar/deletar
+     * (em qualquer servidor). Usada como ETag da listagem completa.
+     * @return A versão do catálogo (lida do cache quando possível).
+     */
+    long versaoCatalogo();
+
+    /**
+     * Busca Clinicas pelo nome, bairro ou cidade enquanto o usuário digita (autocompletar).
+     * Ignora acentos e maiúsculas, aceita o começo das palavras e pequenos erros de digitação.
+     * A busca é feita num índice em memória, sem consultar o banco.
+     * @param texto O texto digitado.
+     * @param limite O número máximo de Clinicas retornadas.
+     * @return As Clinicas encontradas, das mais relevantes para as menos relevantes.
+     */
+    List<Clinica> buscar(String texto, int limite);
+
+    /**
+     * Lista as k Clinicas mais próximas de um ponto (apenas as que têm coordenadas).
+     * A busca é feita num índice espacial em memória, sem consultar o banco.
+     * @param latitude A latitude do ponto, em graus decimais.
+     * @param longitude A longitude do ponto, em graus decimais.
+     * @param k O número máximo de Clinicas retornadas.
+     * @return As Clinicas com a distância até o ponto, da mais próxima para a mais distante.
+     */
+    List<ClinicaProxima> listarProximas(double latitude, double longitude, int k);
+
+    /**
+     * Preenche latitude/longitude, pelo CEP, das Clinicas que ainda não têm coordenadas.
+     * @return Quantas Clinicas foram atualizadas.
+     */
+    int preencherCoordenadas();
+
+    /**
+     * Lista uma página de Clinicas ordenada pelo ID (paginação por cursor / keyset).
+     * @param depoisDe Retorna apenas registros com ID maior que este (0 para a primeira página).
+     * @param limite O número máximo de registros da página.
+     * @return Uma lista com no máximo 'limite' objetos Clinica.
+     */
+    List<Clinica> listarPagina(int depoisDe, int limite);
 }
 
@@ -0,0 +1,33 @@
+package dao;
+
+import model.CoberturaVacinal;
+import model.ResultadoBloco;
+
+import java.util.List;
+
+/**
+ * Interface que define o contrato da cobertura vacinal pré-agregada
+ * (tabelas Cobertura_Vacinal e Cobertura_Vacinal_Delta).
+ * Os deltas são gravados pelos próprios DAOs de CertificadoVacina, Pet e Clinica.
+ */
+public interface ICoberturaVacinalDAO {
+
+    /**
+     * Lista a cobertura por vacina, espécie e cidade, lendo apenas as tabelas agregadas
+     * (inclusive os deltas ainda não compactados, então o resultado já reflete as últimas escritas).
+     * Os filtros são opcionais (null = todos).
+     * @param idVacina Filtra por vacina.
+     * @param especie Filtra pela espécie do pet.
+     * @param cidade Filtra pela cidade da clínica.
+     * @return As linhas com pelo menos um certificado, ordenadas por vacina, espécie e cidade.
+     */
+    List<CoberturaVacinal> listar(Integer idVacina, String especie, String cidade);
+
+    /**
+     * Soma o próximo bloco de deltas (os mais antigos) em Cobertura_Vacinal e apaga esses deltas,
+     * na mesma transação. Servidores diferentes se revezam pelo checkpoint 'cobertura-vacinal'.
+     * @param tamanhoBloco O número máximo de deltas do bloco.
+     * @return Os deltas lidos e os grupos alterados; vazio quando não há mais deltas.
+     */
+    ResultadoBloco compactarProximoBloco(int tamanhoBloco);
+}
@@ -2,6 +2,11 @@ package dao;
 
 import model.CredencialServico;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Interface que define o contrato para as operações de persistência
  * da entidade CredencialServico.
@@ -29,6 +34,24 @@ public interface ICredencialServicoDAO {
      */
     CredencialServico buscarPorId(int id);
 
+    /**
+     * Lista as credenciais de vários animais de serviço de uma vez (consulta com IN, sem laço por animal).
+     * @param idsAnimais Os IDs dos AnimalDeServico.
+     * @return As credenciais de cada animal (pelo ID do animal), da validade mais longa para a mais curta,
+     *         já com as habilidades. Animais sem credencial não aparecem no mapa.
+     *         Erros do banco não viram mapa vazio: a exceção sobe (o painel responde 5xx).
+     */
+    Map<Integer, List<CredencialServico>> listarPorAnimais(Collection<Integer> idsAnimais);
+
+    /**
+     * Lista as credenciais dos animais de um dono criadas ou alteradas depois de um instante
+     * (sincronização incremental).
+     * @param idDono O ID do Dono.
+     * @param desde Retorna apenas credenciais com 'atualizado_em' posterior a este instante.
+     * @return As credenciais, já com as habilidades (vazia se nada mudou).
+     */
+    List<CredencialServico> listarAlteradasPorDono(int idDono, Instant desde);
+
     /**
      * Deleta uma credencial e suas relações M:N.
      * @param id O ID da credencial a deletar.
@@ -0,0 +1,25 @@
+package dao;
+
+import model.ResultadoBloco;
+
+import java.time.LocalDate;
+
+/**
+ * Interface que define o contrato da geração dos lembretes de reforço de vacina
+ * (tabela de saída Lembrete_Vacina), feita em blocos pela tarefa MotorLembretes.
+ */
+public interface ILembreteVacinaDAO {
+
+    /**
+     * Processa o próximo bloco da varredura do dia: lê até 'tamanhoBloco' certificados
+     * com proxima_dose entre 'inicio' e 'fim' (a partir do checkpoint) e grava um lembrete
+     * para cada dono do pet que ainda não foi lembrado daquele reforço.
+     * O bloco e o avanço do checkpoint são confirmados na mesma transação.
+     * @param hoje O dia da varredura (um novo dia recomeça do 'inicio').
+     * @param inicio A menor proxima_dose considerada (reforços atrasados).
+     * @param fim A maior proxima_dose considerada (reforços próximos).
+     * @param tamanhoBloco O número máximo de certificados lidos no bloco.
+     * @return Os certificados lidos e os lembretes gravados; vazio quando a varredura do dia terminou.
+     */
+    ResultadoBloco gerarProximoBloco(LocalDate hoje, LocalDate inicio, LocalDate fim, int tamanhoBloco);
+}
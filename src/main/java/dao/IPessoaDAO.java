@@ -1,7 +1,9 @@
 package dao;
 
 import model.Pessoa;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface que define o contrato para as operações de persistência
@@ -37,12 +39,37 @@ public interface IPessoaDAO {
      */
     Pessoa buscarPorId(int id);
 
+    /**
+     * Busca uma Pessoa pelo ID, apenas se ela foi criada ou alterada depois de um instante
+     * (sincronização incremental).
+     * @param id O ID da Pessoa.
+     * @param desde O instante da última sincronização.
+     * @return A Pessoa, ou null se não existir ou não mudou desde então.
+     */
+    Pessoa buscarSeAlterada(int id, Instant desde);
+
     /**
      * Retorna uma lista com todas as Pessoas cadastradas no banco de dados.
      * @return Uma lista de objetos Pessoa.
      */
     List<Pessoa> listarTodos();
 
+    /**
+     * Lista uma página de Pessoas ordenada pelo ID (paginação por cursor / keyset).
+     * @param depoisDe Retorna apenas registros com ID maior que este (0 para a primeira página).
+     * @param limite O número máximo de registros da página.
+     * @return Uma lista com no máximo 'limite' objetos Pessoa.
+     */
+    List<Pessoa> listarPagina(int depoisDe, int limite);
+
+    /**
+     * Percorre todos os registros de Pessoa em modo streaming (ResultSet forward-only),
+     * entregando cada um ao consumidor assim que é lido do banco.
+     * Nada é acumulado em memória, independente do tamanho da tabela.
+     * @param consumidor Quem recebe cada Pessoa lido.
+     */
+    void exportarTodos(Consumer<Pessoa> consumidor);
+
     /**
      * Busca uma Pessoa (Dono ou Veterinario) pelo e-mail para fazer login.
      * @param email O e-mail a ser verificado.
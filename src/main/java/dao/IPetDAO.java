@@ -1,7 +1,10 @@
 package dao;
 
 import model.Pet;
+import model.ResultadoLote;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface que define o contrato para as operações de persistência
@@ -16,6 +19,14 @@ public interface IPetDAO {
      */
     Pet salvar(Pet pet);
 
+    /**
+     * Salva vários Pets de uma vez, usando INSERTs em lote.
+     * Um item com erro não impede que os demais sejam salvos.
+     * @param pets Os Pets a serem salvos.
+     * @return O resultado de cada item (ID gerado ou erro), na mesma ordem da lista.
+     */
+    ResultadoLote salvarEmLote(List<Pet> pets);
+
     /**
      * Atualiza um objeto Pet existente no banco de dados.
      * @param pet O objeto Pet com os dados atualizados.
@@ -37,6 +48,15 @@ public interface IPetDAO {
      */
     Pet buscarPorId(int id);
 
+    /**
+     * Retorna o instante da última alteração de um Pet (coluna 'atualizado_em'), sem os JOINs do
+     * buscarPorId. Usado como ETag de GET /api/pets/{id}.
+     * Quem alterar Animal_de_Servico deve também atualizar o 'atualizado_em' do Pet.
+     * @param id O ID do Pet.
+     * @return O instante da última alteração, ou null se o pet não existir.
+     */
+    Instant buscarVersao(int id);
+
     /**
      * Retorna uma lista com todos os Pets de um dono específico.
      * @param idDono O ID do Dono.
@@ -44,10 +64,34 @@ public interface IPetDAO {
      */
     List<Pet> listarPorDono(int idDono);
 
+    /**
+     * Lista os Pets de um dono criados ou alterados depois de um instante (sincronização incremental).
+     * @param idDono O ID do Dono.
+     * @param desde Retorna apenas pets com 'atualizado_em' posterior a este instante.
+     * @return Uma lista de objetos Pet (vazia se nada mudou).
+     */
+    List<Pet> listarAlteradosPorDono(int idDono, Instant desde);
+
     /**
      * Retorna uma lista com todos os Pets cadastrados no banco de dados.
      * @return Uma lista de objetos Pet.
      */
     List<Pet> listarTodos();
+
+    /**
+     * Lista uma página de Pets ordenada pelo ID (paginação por cursor / keyset).
+     * @param depoisDe Retorna apenas registros com ID maior que este (0 para a primeira página).
+     * @param limite O número máximo de registros da página.
+     * @return Uma lista com no máximo 'limite' objetos Pet.
+     */
+    List<Pet> listarPagina(int depoisDe, int limite);
+
+    /**
+     * Percorre todos os registros de Pet em modo streaming (ResultSet forward-only),
+     * entregando cada um ao consumidor assim que é lido do banco.
+     * Nada é acumulado em memória, independente do tamanho da tabela.
+     * @param consumidor Quem recebe cada Pet lido.
+     */
+    void exportarTodos(Consumer<Pet> consumidor);
 }
 
@@ -0,0 +1,28 @@
+package dao;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface que define o contrato das consultas de apoio à sincronização
+ * incremental do app (GET /api/sync): o relógio do banco e as exclusões registradas.
+ */
+public interface ISincronizacaoDAO {
+
+    /**
+     * Retorna a hora atual do banco.
+     * As colunas 'atualizado_em' são preenchidas pelo banco, então os tokens de
+     * sincronização também usam o relógio dele (e não o do servidor da API).
+     * @return O instante atual, com precisão de microssegundos.
+     */
+    Instant agora();
+
+    /**
+     * Lista as exclusões (tombstones) dos registros de um dono depois de um instante.
+     * @param idDono O ID do Dono.
+     * @param desde Retorna apenas exclusões posteriores a este instante.
+     * @return Os IDs excluídos, agrupados pelo nome da tabela (ex: "Pet" -> [3, 7]).
+     */
+    Map<String, List<Integer>> listarExclusoes(int idDono, Instant desde);
+}
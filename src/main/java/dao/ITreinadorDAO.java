@@ -42,5 +42,13 @@ public interface ITreinadorDAO {
      * @return Uma lista de Treinador.
      */
     List<Treinador> listarTodos();
+
+    /**
+     * Lista uma página de Treinadores ordenada pelo ID (paginação por cursor / keyset).
+     * @param depoisDe Retorna apenas registros com ID maior que este (0 para a primeira página).
+     * @param limite O número máximo de registros da página.
+     * @return Uma lista com no máximo 'limite' objetos Treinador.
+     */
+    List<Treinador> listarPagina(int depoisDe, int limite);
 }
 
@@ -42,5 +42,20 @@ public interface IVacinaDAO {
      * @return Uma lista de Vacinas.
      */
     List<Vacina> listarTodos();
+
+    /**
+     * Retorna a versão atual do catálogo, que muda a cada salvar/atualizar/deletar
+     * (em qualquer servidor). Usada como ETag da listagem completa.
+     * @return A versão do catálogo (lida do cache quando possível).
+     */
+    long versaoCatalogo();
+
+    /**
+     * Lista uma página de Vacinas ordenada pelo ID (paginação por cursor / keyset).
+     * @param depoisDe Retorna apenas registros com ID maior que este (0 para a primeira página).
+     * @param limite O número máximo de registros da página.
+     * @return Uma lista com no máximo 'limite' objetos Vacina.
+     */
+    List<Vacina> listarPagina(int depoisDe, int limite);
 }
 
@@ -0,0 +1,27 @@
+package dao;
+
+import model.BlocoCredenciais;
+
+import java.time.LocalDate;
+
+/**
+ * Interface que define o contrato da varredura de validade das credenciais
+ * de serviço, feita em blocos pela tarefa VarreduraCredenciais.
+ */
+public interface IValidadeCredencialDAO {
+
+    /**
+     * Processa o próximo bloco da varredura do dia: lê até 'tamanhoBloco' credenciais com
+     * data_validade entre 'inicio' e 'fimAviso' (a partir do checkpoint). Os animais cuja
+     * credencial mais recente já venceu passam para o status 'Credencial Vencida'
+     * (um único UPDATE para o bloco todo), e os avisos de credencial vencida e a vencer são
+     * gravados na tabela de saída Aviso_Credencial.
+     * O bloco, os avisos e o avanço do checkpoint são confirmados na mesma transação.
+     * @param hoje O dia da varredura (credenciais com validade anterior a hoje estão vencidas).
+     * @param inicio A menor data_validade considerada.
+     * @param fimAviso A maior data_validade considerada (credenciais a vencer).
+     * @param tamanhoBloco O número máximo de credenciais lidas no bloco.
+     * @return As credenciais vencidas e a vencer do bloco; vazio quando a varredura do dia terminou.
+     */
+    BlocoCredenciais processarProximoBloco(LocalDate hoje, LocalDate inicio, LocalDate fimAviso, int tamanhoBloco);
+}
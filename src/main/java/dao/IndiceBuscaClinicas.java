@@ -0,0 +1,330 @@
+package dao;
+
+import model.Clinica;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória para a busca de clínicas enquanto o usuário digita
+ * (nome, bairro e cidade). Usado pelo ClinicaDAO.
+ * - Os termos são normalizados: minúsculas e sem acento ("São João" e "sao joao" são iguais);
+ * - Os termos ficam ordenados (TreeMap), então a busca por prefixo é um subMap, sem varrer o índice;
+ * - Todas as palavras digitadas precisam casar (E); uma palavra sem nenhum prefixo igual
+ *   aceita termos com 1 erro de digitação (2 em palavras longas);
+ * - Ordem do resultado: termo exato > prefixo > com erro, palavra do nome vale mais, depois pelo nome.
+ * O índice guarda a versão do catálogo (Versao_Tabela) que ele reflete: o DAO reconstrói o índice
+ * quando o catálogo tem uma versão mais nova (alteração feita por outro servidor).
+ * As leituras usam o bloqueio de leitura (várias buscas em paralelo) e não prendem a thread
+ * portadora quando a API roda com threads virtuais.
+ */
+final class IndiceBuscaClinicas {
+
+    // Palavras muito comuns nos nomes, ignoradas no índice e na busca
+    private static final Set<String> PALAVRAS_IGNORADAS = Set.of("a", "o", "e", "de", "da", "do", "das", "dos");
+
+    // Abaixo deste tamanho uma palavra digitada não aceita erro de digitação (só prefixo)
+    private static final int TAMANHO_MINIMO_APROXIMADA = 4;
+    private static final int TAMANHO_DOIS_ERROS = 8;
+
+    private static final int PESO_EXATO = 3;
+    private static final int PESO_PREFIXO = 2;
+    private static final int PESO_APROXIMADO = 1;
+    private static final int BONUS_NOME = 1;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private final ReadWriteLock bloqueio = new ReentrantReadWriteLock();
+
+    // Termo -> IDs das clínicas que têm o termo (em qualquer campo)
+    private final TreeMap<String, Set<Integer>> termos = new TreeMap<>();
+    private final Map<Integer, Registro> registros = new HashMap<>();
+
+    // Versão do catálogo refletida pelo índice (-1 = ainda não carregado)
+    private long versao = -1;
+
+    /**
+     * A versão do catálogo refletida pelo índice.
+     */
+    long getVersao() {
+        bloqueio.readLock().lock();
+        try {
+            return versao;
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelo catálogo informado.
+     * Um catálogo mais antigo que o índice é ignorado.
+     */
+    void reconstruir(long versaoCatalogo, Collection<Clinica> clinicas) {
+        // Os registros são montados antes do bloqueio, que fica só com a troca
+        List<Registro> novos = new ArrayList<>(clinicas.size());
+        for (Clinica clinica : clinicas) {
+            novos.add(new Registro(clinica));
+        }
+
+        bloqueio.writeLock().lock();
+        try {
+            if (versaoCatalogo <= versao) {
+                return;
+            }
+            termos.clear();
+            registros.clear();
+            for (Registro registro : novos) {
+                incluir(registro);
+            }
+            versao = versaoCatalogo;
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui ou substitui uma clínica (salvar/atualizar já confirmados no banco).
+     * @param versaoNova A versão do catálogo gerada pela escrita.
+     */
+    void salvar(Clinica clinica, long versaoNova) {
+        Registro registro = new Registro(clinica);
+        bloqueio.writeLock().lock();
+        try {
+            retirar(clinica.getIdClinica());
+            incluir(registro);
+            avancarVersao(versaoNova);
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove uma clínica (deletar já confirmado no banco).
+     * @param versaoNova A versão do catálogo gerada pela escrita.
+     */
+    void remover(int idClinica, long versaoNova) {
+        bloqueio.writeLock().lock();
+        try {
+            retirar(idClinica);
+            avancarVersao(versaoNova);
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as clínicas cujos termos casam com todas as palavras do texto.
+     * @param texto O texto digitado (pode ser o começo de uma palavra).
+     * @param limite O número máximo de clínicas retornadas.
+     */
+    List<Clinica> buscar(String texto, int limite) {
+        List<String> palavras = new ArrayList<>(tokens(texto));
+        if (palavras.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        bloqueio.readLock().lock();
+        try {
+            // Pontuação de cada clínica que casou com todas as palavras até agora
+            Map<Integer, Integer> pontos = null;
+            for (String palavra : palavras) {
+                Map<Integer, Integer> daPalavra = pontuar(palavra);
+                if (pontos == null) {
+                    pontos = daPalavra;
+                } else {
+                    pontos.keySet().retainAll(daPalavra.keySet());
+                    pontos.replaceAll((id, total) -> total + daPalavra.get(id));
+                }
+                if (pontos.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return pontos.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                            .thenComparing(entrada -> registros.get(entrada.getKey()).nomeNormalizado)
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(limite)
+                    .map(entrada -> registros.get(entrada.getKey()).clinica)
+                    .toList();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os IDs que casam com uma palavra e a melhor pontuação de cada um.
+     * Deve ser chamado com o bloqueio de leitura.
+     */
+    private Map<Integer, Integer> pontuar(String palavra) {
+        Map<Integer, Integer> pontos = new HashMap<>();
+
+        // Todos os termos que começam com a palavra: [palavra, palavra + maior caractere)
+        SortedMap<String, Set<Integer>> comPrefixo = termos.subMap(palavra, palavra + Character.MAX_VALUE);
+        for (Map.Entry<String, Set<Integer>> termo : comPrefixo.entrySet()) {
+            int peso = termo.getKey().equals(palavra) ? PESO_EXATO : PESO_PREFIXO;
+            pontuarTermo(pontos, termo.getKey(), termo.getValue(), peso);
+        }
+        if (!pontos.isEmpty() || palavra.length() < TAMANHO_MINIMO_APROXIMADA) {
+            return pontos;
+        }
+
+        // Nenhum prefixo igual: aceita erro de digitação. Só olha os termos com a mesma
+        // primeira letra (o erro quase nunca está nela), o que limita a varredura
+        int maximoErros = palavra.length() >= TAMANHO_DOIS_ERROS ? 2 : 1;
+        String inicial = palavra.substring(0, 1);
+        for (Map.Entry<String, Set<Integer>> termo : termos.subMap(inicial, inicial + Character.MAX_VALUE).entrySet()) {
+            if (casaComErros(palavra, termo.getKey(), maximoErros)) {
+                pontuarTermo(pontos, termo.getKey(), termo.getValue(), PESO_APROXIMADO);
+            }
+        }
+        return pontos;
+    }
+
+    /**
+     * Se a palavra casa com o começo do termo com até maximoErros edições. O usuário ainda
+     * está digitando, então compara com os começos do termo de tamanho próximo ao da palavra
+     * (uma letra a menos ou a mais muda o tamanho do começo que deve ser comparado).
+     */
+    private static boolean casaComErros(String palavra, String termo, int maximoErros) {
+        int menor = Math.max(1, palavra.length() - maximoErros);
+        int maior = Math.min(termo.length(), palavra.length() + maximoErros);
+        for (int tamanho = menor; tamanho <= maior; tamanho++) {
+            if (distancia(palavra, termo.substring(0, tamanho), maximoErros) <= maximoErros) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void pontuarTermo(Map<Integer, Integer> pontos, String termo, Set<Integer> ids, int peso) {
+        for (Integer id : ids) {
+            int total = registros.get(id).termosNome.contains(termo) ? peso + BONUS_NOME : peso;
+            pontos.merge(id, total, Math::max);
+        }
+    }
+
+    // Deve ser chamado com o bloqueio de escrita
+    private void incluir(Registro registro) {
+        registros.put(registro.clinica.getIdClinica(), registro);
+        for (String termo : registro.todosTermos) {
+            termos.computeIfAbsent(termo, t -> new HashSet<>()).add(registro.clinica.getIdClinica());
+        }
+    }
+
+    // Deve ser chamado com o bloqueio de escrita
+    private void retirar(int idClinica) {
+        Registro anterior = registros.remove(idClinica);
+        if (anterior == null) {
+            return;
+        }
+        for (String termo : anterior.todosTermos) {
+            Set<Integer> ids = termos.get(termo);
+            if (ids != null) {
+                ids.remove(idClinica);
+                if (ids.isEmpty()) {
+                    termos.remove(termo);
+                }
+            }
+        }
+    }
+
+    // Só avança se a escrita é a seguinte à versão do índice; se alguma alteração de outro
+    // servidor ficou de fora, a versão fica para trás e o DAO reconstrói o índice
+    private void avancarVersao(long versaoNova) {
+        if (versao >= 0 && versaoNova == versao + 1) {
+            versao = versaoNova;
+        }
+    }
+
+    /**
+     * Texto em minúsculas, sem acentos e só com letras e números separados por espaço.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * As palavras normalizadas do texto, sem as palavras ignoradas e sem repetição.
+     */
+    static Set<String> tokens(String texto) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return tokens;
+        }
+        for (String palavra : normalizado.split(" ")) {
+            if (!PALAVRAS_IGNORADAS.contains(palavra)) {
+                tokens.add(palavra);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Distância de edição (Levenshtein) entre a e b, interrompida assim que passa do máximo.
+     */
+    static int distancia(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) {
+            return maximo + 1;
+        }
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                atual[j] = Math.min(Math.min(atual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + custo);
+                menorDaLinha = Math.min(menorDaLinha, atual[j]);
+            }
+            if (menorDaLinha > maximo) {
+                return maximo + 1;
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+        return anterior[b.length()];
+    }
+
+    /**
+     * Uma clínica no índice, com os termos já calculados (para remover sem recalcular).
+     */
+    private static final class Registro {
+        private final Clinica clinica;
+        private final String nomeNormalizado;
+        private final Set<String> termosNome;
+        private final Set<String> todosTermos;
+
+        Registro(Clinica clinica) {
+            this.clinica = clinica;
+            this.nomeNormalizado = normalizar(clinica.getNome());
+            this.termosNome = tokens(clinica.getNome());
+            this.todosTermos = new HashSet<>(termosNome);
+            todosTermos.addAll(tokens(clinica.getBairro()));
+            todosTermos.addAll(tokens(clinica.getCidade()));
+        }
+    }
+}
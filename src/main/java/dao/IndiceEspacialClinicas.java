@@ -0,0 +1,162 @@
+package dao;
+
+import model.Clinica;
+import model.ClinicaProxima;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Índice espacial (KD-tree) das clínicas com coordenadas, para a busca das k mais próximas
+ * de um ponto sem percorrer o catálogo inteiro. Usado pelo ClinicaDAO.
+ * - Cada clínica vira um ponto 3D na esfera unitária (x, y, z): a distância reta entre dois pontos
+ *   cresce junto com a distância sobre a superfície, então não há problema perto dos polos nem
+ *   na linha de data, e a comparação não usa seno/cosseno (só a distância final em km usa);
+ * - A árvore fica num array (o nó de [inicio, fim) é o elemento do meio), montada uma vez;
+ * - O índice é imutável: o DAO monta um novo quando a versão do catálogo muda e troca a referência.
+ */
+final class IndiceEspacialClinicas {
+
+    // Raio médio da Terra, em quilômetros
+    private static final double RAIO_TERRA_KM = 6371.0088;
+
+    private final long versao;
+    private final Ponto[] pontos;
+
+    private IndiceEspacialClinicas(long versao, Ponto[] pontos) {
+        this.versao = versao;
+        this.pontos = pontos;
+    }
+
+    /**
+     * Monta o índice com as clínicas que têm coordenadas (as demais ficam de fora).
+     * @param versao A versão do catálogo de onde vieram as clínicas.
+     */
+    static IndiceEspacialClinicas construir(long versao, Collection<Clinica> clinicas) {
+        List<Ponto> comCoordenadas = new ArrayList<>(clinicas.size());
+        for (Clinica clinica : clinicas) {
+            if (clinica.getLatitude() != null && clinica.getLongitude() != null) {
+                comCoordenadas.add(new Ponto(clinica, paraEsfera(clinica.getLatitude(), clinica.getLongitude())));
+            }
+        }
+        montar(comCoordenadas, 0, comCoordenadas.size(), 0);
+        return new IndiceEspacialClinicas(versao, comCoordenadas.toArray(new Ponto[0]));
+    }
+
+    long getVersao() {
+        return versao;
+    }
+
+    int tamanho() {
+        return pontos.length;
+    }
+
+    /**
+     * As k clínicas mais próximas do ponto, da mais próxima para a mais distante.
+     */
+    List<ClinicaProxima> proximas(double latitude, double longitude, int k) {
+        if (k <= 0 || pontos.length == 0) {
+            return List.of();
+        }
+        double[] alvo = paraEsfera(latitude, longitude);
+
+        // Heap com as k melhores até agora; o topo é a pior delas (a que sai primeiro)
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble((Candidato candidato) -> candidato.distancia2).reversed());
+        procurar(alvo, k, melhores, 0, pontos.length, 0);
+
+        List<Candidato> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(Comparator.comparingDouble(candidato -> candidato.distancia2));
+        List<ClinicaProxima> resultado = new ArrayList<>(ordenados.size());
+        for (Candidato candidato : ordenados) {
+            resultado.add(new ClinicaProxima(candidato.ponto.clinica, distanciaKm(candidato.distancia2)));
+        }
+        return resultado;
+    }
+
+    private void procurar(double[] alvo, int k, PriorityQueue<Candidato> melhores, int inicio, int fim, int profundidade) {
+        if (inicio >= fim) {
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        Ponto no = pontos[meio];
+        double distancia2 = distancia2(alvo, no.coordenadas);
+        if (melhores.size() < k) {
+            melhores.add(new Candidato(no, distancia2));
+        } else if (distancia2 < melhores.peek().distancia2) {
+            melhores.poll();
+            melhores.add(new Candidato(no, distancia2));
+        }
+
+        int eixo = profundidade % 3;
+        double diferenca = alvo[eixo] - no.coordenadas[eixo];
+        // Desce primeiro no lado do alvo; o outro lado só é visitado se o plano de corte
+        // estiver mais perto que a pior das k melhores
+        if (diferenca < 0) {
+            procurar(alvo, k, melhores, inicio, meio, profundidade + 1);
+            if (melhores.size() < k || diferenca * diferenca < melhores.peek().distancia2) {
+                procurar(alvo, k, melhores, meio + 1, fim, profundidade + 1);
+            }
+        } else {
+            procurar(alvo, k, melhores, meio + 1, fim, profundidade + 1);
+            if (melhores.size() < k || diferenca * diferenca < melhores.peek().distancia2) {
+                procurar(alvo, k, melhores, inicio, meio, profundidade + 1);
+            }
+        }
+    }
+
+    // Ordena [inicio, fim) pelo eixo da profundidade: o do meio vira o nó, cada metade uma subárvore
+    private static void montar(List<Ponto> pontos, int inicio, int fim, int profundidade) {
+        if (fim - inicio <= 1) {
+            return;
+        }
+        int eixo = profundidade % 3;
+        pontos.subList(inicio, fim).sort(Comparator.comparingDouble(ponto -> ponto.coordenadas[eixo]));
+        int meio = (inicio + fim) >>> 1;
+        montar(pontos, inicio, meio, profundidade + 1);
+        montar(pontos, meio + 1, fim, profundidade + 1);
+    }
+
+    private static double[] paraEsfera(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double distancia2(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    // Distância reta na esfera unitária (corda) -> distância sobre a superfície, em km (arredondada ao metro)
+    private static double distanciaKm(double distancia2) {
+        double angulo = 2 * Math.asin(Math.min(1.0, Math.sqrt(distancia2) / 2));
+        return Math.round(angulo * RAIO_TERRA_KM * 1000) / 1000.0;
+    }
+
+    private static final class Ponto {
+        private final Clinica clinica;
+        private final double[] coordenadas;
+
+        Ponto(Clinica clinica, double[] coordenadas) {
+            this.clinica = clinica;
+            this.coordenadas = coordenadas;
+        }
+    }
+
+    private static final class Candidato {
+        private final Ponto ponto;
+        private final double distancia2;
+
+        Candidato(Ponto ponto, double distancia2) {
+            this.ponto = ponto;
+            this.distancia2 = distancia2;
+        }
+    }
+}
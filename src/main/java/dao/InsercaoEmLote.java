@@ -0,0 +1,110 @@
+package dao;
+
+import model.ResultadoLote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lógica comum das inserções em lote (salvarEmLote) dos DAOs.
+ * Os itens são gravados em blocos, cada bloco em uma transação curta com INSERT em lote.
+ * Se um bloco falhar, ele é refeito item a item, para que só os itens com problema
+ * fiquem de fora e o resto do lote seja salvo.
+ * O erro de cada item volta ao cliente como uma mensagem fixa (ERRO_*); o texto do banco
+ * (SQL, nomes de tabelas e colunas) só vai para o log.
+ */
+final class InsercaoEmLote {
+
+    private static final Logger log = LoggerFactory.getLogger(InsercaoEmLote.class);
+
+    static final int TAMANHO_BLOCO = 500;
+
+    // Mensagens devolvidas ao cliente no ResultadoLote
+    static final String ERRO_DUPLICADO = "Registro duplicado.";
+    static final String ERRO_DADOS_INVALIDOS = "Dados recusados pelo banco (referência inexistente ou valor inválido).";
+    static final String ERRO_BANCO = "Erro ao gravar o item. Tente novamente.";
+
+    private InsercaoEmLote() {
+    }
+
+    /**
+     * @param itens Os itens recebidos, na ordem do envio.
+     * @param transactionTemplate Usado para abrir uma transação por bloco.
+     * @param validador Retorna a mensagem de erro do item, ou null se ele é válido.
+     * @param inseridor Insere um bloco de itens válidos e preenche o ID gerado de cada um.
+     * @param id Lê o ID gerado de um item já inserido.
+     * @return O resultado de cada item, na mesma ordem do envio.
+     */
+    static <T> ResultadoLote executar(List<T> itens,
+                                      TransactionTemplate transactionTemplate,
+                                      Function<T, String> validador,
+                                      Consumer<List<T>> inseridor,
+                                      ToIntFunction<T> id) {
+        ResultadoLote resultado = new ResultadoLote(itens.size());
+
+        for (int inicio = 0; inicio < itens.size(); inicio += TAMANHO_BLOCO) {
+            int fim = Math.min(inicio + TAMANHO_BLOCO, itens.size());
+
+            // 1. Separa os itens inválidos antes de ir ao banco
+            List<Integer> indices = new ArrayList<>();
+            List<T> bloco = new ArrayList<>();
+            for (int i = inicio; i < fim; i++) {
+                T item = itens.get(i);
+                String erro = (item == null) ? "Item vazio." : validador.apply(item);
+                if (erro != null) {
+                    resultado.registrarErro(i, erro);
+                } else {
+                    indices.add(i);
+                    bloco.add(item);
+                }
+            }
+            if (bloco.isEmpty()) {
+                continue;
+            }
+
+            // 2. Tenta gravar o bloco inteiro em lote
+            try {
+                transactionTemplate.executeWithoutResult(status -> inseridor.accept(bloco));
+                for (int k = 0; k < bloco.size(); k++) {
+                    resultado.registrarSucesso(indices.get(k), id.applyAsInt(bloco.get(k)));
+                }
+            } catch (DataAccessException | TransactionException e) {
+                // 3. O bloco foi revertido (ou a transação nem abriu/confirmou): refaz item a item
+                //    para isolar quem falhou
+                log.warn("Bloco [{}, {}) do lote revertido, refazendo item a item: {}", inicio, fim, e.toString());
+                for (int k = 0; k < bloco.size(); k++) {
+                    T item = bloco.get(k);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> inseridor.accept(List.of(item)));
+                        resultado.registrarSucesso(indices.get(k), id.applyAsInt(item));
+                    } catch (DataAccessException | TransactionException erroItem) {
+                        log.warn("Item {} do lote não foi salvo", indices.get(k), erroItem);
+                        resultado.registrarErro(indices.get(k), mensagemParaCliente(erroItem));
+                    }
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // Mensagem fixa pelo tipo da exceção (a DuplicateKeyException é uma DataIntegrityViolationException)
+    private static String mensagemParaCliente(RuntimeException erro) {
+        if (erro instanceof DuplicateKeyException) {
+            return ERRO_DUPLICADO;
+        }
+        if (erro instanceof DataIntegrityViolationException) {
+            return ERRO_DADOS_INVALIDOS;
+        }
+        return ERRO_BANCO;
+    }
+}
@@ -0,0 +1,98 @@
+package dao;
+
+import model.ResultadoBloco;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação do DAO dos lembretes de vacina, usando JdbcTemplate.
+ * A varredura usa o índice (proxima_dose, id_certificado_vac) como cursor (keyset):
+ * cada bloco é uma faixa do índice, sem OFFSET e sem ler a tabela inteira.
+ */
+@Repository
+public class LembreteVacinaDAO implements ILembreteVacinaDAO {
+
+    // Nome do processo em Checkpoint_Processo
+    private static final String PROCESSO = "lembretes-vacina";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate; // Uma transação curta por bloco
+
+    @Autowired
+    public LembreteVacinaDAO(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public ResultadoBloco gerarProximoBloco(LocalDate hoje, LocalDate inicio, LocalDate fim, int tamanhoBloco) {
+        return transactionTemplate.execute(status -> {
+            CheckpointProcesso checkpoint = CheckpointProcesso.bloquear(jdbcTemplate, PROCESSO, hoje);
+            if (checkpoint.isConcluido()) {
+                return ResultadoBloco.VAZIO;
+            }
+
+            // Depois da última chave processada, ou desde o início da janela no primeiro bloco do dia
+            String depoisDoCursor;
+            List<Object> parametrosCursor = new ArrayList<>();
+            if (checkpoint.temCursor()) {
+                depoisDoCursor = "(c.proxima_dose > ? OR (c.proxima_dose = ? AND c.id_certificado_vac > ?))";
+                parametrosCursor.add(Date.valueOf(checkpoint.getCursorData()));
+                parametrosCursor.add(Date.valueOf(checkpoint.getCursorData()));
+                parametrosCursor.add(checkpoint.getCursorId());
+            } else {
+                depoisDoCursor = "c.proxima_dose >= ?";
+                parametrosCursor.add(Date.valueOf(inicio));
+            }
+
+            // 1. Acha a última chave do bloco (só colunas do índice; guarda apenas a última linha)
+            String sqlChaves = "SELECT c.proxima_dose, c.id_certificado_vac FROM CertificadoVacina c " +
+                    "WHERE " + depoisDoCursor + " AND c.proxima_dose <= ? " +
+                    "ORDER BY c.proxima_dose, c.id_certificado_vac LIMIT ?";
+            List<Object> parametrosChaves = new ArrayList<>(parametrosCursor);
+            parametrosChaves.add(Date.valueOf(fim));
+            parametrosChaves.add(tamanhoBloco);
+
+            int[] lidos = {0};
+            Date[] ultimaData = {null};
+            int[] ultimoId = {0};
+            jdbcTemplate.query(sqlChaves, parametrosChaves.toArray(), (RowCallbackHandler) rs -> {
+                lidos[0]++;
+                ultimaData[0] = rs.getDate("proxima_dose");
+                ultimoId[0] = rs.getInt("id_certificado_vac");
+            });
+
+            if (lidos[0] == 0) {
+                checkpoint.concluir(jdbcTemplate);
+                return ResultadoBloco.VAZIO;
+            }
+
+            // 2. Grava os lembretes da faixa (cursor, última chave] em um único INSERT ... SELECT.
+            //    O NOT EXISTS pula os reforços já lembrados (a chave única é a garantia final).
+            String sqlLembretes = "INSERT INTO Lembrete_Vacina (id_certificado_vac, proxima_dose, id_pet, id_dono, id_vacina) " +
+                    "SELECT c.id_certificado_vac, c.proxima_dose, c.id_pet, po.id_dono, c.id_vacina " +
+                    "FROM CertificadoVacina c JOIN Possui po ON po.id_pet = c.id_pet " +
+                    "WHERE " + depoisDoCursor + " " +
+                    "AND (c.proxima_dose < ? OR (c.proxima_dose = ? AND c.id_certificado_vac <= ?)) " +
+                    "AND NOT EXISTS (SELECT 1 FROM Lembrete_Vacina l WHERE l.id_certificado_vac = c.id_certificado_vac " +
+                    "AND l.proxima_dose = c.proxima_dose AND l.id_dono = po.id_dono)";
+            List<Object> parametrosLembretes = new ArrayList<>(parametrosCursor);
+            parametrosLembretes.add(ultimaData[0]);
+            parametrosLembretes.add(ultimaData[0]);
+            parametrosLembretes.add(ultimoId[0]);
+            int gravados = jdbcTemplate.update(sqlLembretes, parametrosLembretes.toArray());
+
+            // 3. Avança o checkpoint (confirmado junto com os lembretes)
+            checkpoint.avancar(jdbcTemplate, ultimaData[0].toLocalDate(), ultimoId[0]);
+            return new ResultadoBloco(lidos[0], gravados);
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package dao;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Marcadores (SLF4J) usados nos logs dos DAOs.
+ * O logback-spring.xml usa o marcador para tratar esses eventos de forma diferente.
+ */
+public final class MarcadoresLog {
+
+    /**
+     * Registro não encontrado (ex: buscarPorId de um ID que não existe).
+     * É o evento mais frequente da API, então é amostrado no log (AmostragemTurboFilter).
+     */
+    public static final Marker NAO_ENCONTRADO = MarkerFactory.getMarker("NAO_ENCONTRADO");
+
+    private MarcadoresLog() {
+    }
+}
@@ -3,16 +3,24 @@ package dao;
 import model.Dono;
 import model.Pessoa;
 import model.Veterinario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
-import java.sql.Statement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementação do DAO para Pessoa, agora usando Spring Boot e JdbcTemplate.
@@ -21,6 +29,12 @@ import java.util.List;
 @Repository
 public class PessoaDAO implements IPessoaDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(PessoaDAO.class);
+
+    // Só o ID volta como chave gerada: sem isso o H2 devolve também a coluna atualizado_em
+    // (preenchida pelo banco) e o keyHolder.getKey() falha com "multiple keys"
+    private static final String[] COLUNAS_CHAVE = {"id_pessoa"};
+
     private final JdbcTemplate jdbcTemplate;
 
     @Autowired
@@ -42,7 +56,7 @@ public class PessoaDAO implements IPessoaDAO {
 
         // 1. Salvar Pessoa
         jdbcTemplate.update(connection -> {
-            PreparedStatement stmt = connection.prepareStatement(sqlPessoa, Statement.RETURN_GENERATED_KEYS);
+            PreparedStatement stmt = connection.prepareStatement(sqlPessoa, COLUNAS_CHAVE);
             stmt.setString(1, pessoa.getNome());
             stmt.setString(2, pessoa.getCpf());
             stmt.setString(3, pessoa.getEmail());
@@ -54,27 +68,27 @@ public class PessoaDAO implements IPessoaDAO {
         int idPessoa = keyHolder.getKey().intValue();
         pessoa.setIdPessoa(idPessoa);
 
-        // 2. Salvar Telefones
+        // 2. Salvar Telefones (em lote: uma única ida ao banco para todos os números)
         String sqlTelefone = "INSERT INTO Pessoa_Telefone (id_pessoa, telefone) VALUES (?, ?)";
         if (pessoa.getTelefones() != null && !pessoa.getTelefones().isEmpty()) {
-            for (String telefone : pessoa.getTelefones()) {
-                jdbcTemplate.update(sqlTelefone, idPessoa, telefone);
-            }
+            jdbcTemplate.batchUpdate(sqlTelefone, pessoa.getTelefones(), pessoa.getTelefones().size(),
+                    (stmt, telefone) -> {
+                        stmt.setInt(1, idPessoa);
+                        stmt.setString(2, telefone);
+                    });
         }
 
         // 3. Salvar Especialização (Dono ou Veterinario)
         if (pessoa instanceof Dono) {
             String sqlDono = "INSERT INTO Dono (id_pessoa) VALUES (?)";
             jdbcTemplate.update(sqlDono, idPessoa);
-            System.out.println("Registro de Dono salvo!");
 
         } else if (pessoa instanceof Veterinario) {
             String sqlVeterinario = "INSERT INTO Veterinario (id_pessoa, CRMV) VALUES (?, ?)";
             jdbcTemplate.update(sqlVeterinario, idPessoa, ((Veterinario) pessoa).getCrmv());
-            System.out.println("Registro de Veterinario salvo!");
         }
 
-        System.out.println("Pessoa e especialização salvos com sucesso!");
+        log.debug("Pessoa e especialização salvas: id={}, tipo={}", idPessoa, pessoa.getClass().getSimpleName());
         return pessoa;
     }
 
@@ -93,47 +107,77 @@ public class PessoaDAO implements IPessoaDAO {
     }
 
     @Override
+    @Transactional
     public boolean deletar(int id) {
+        // Registra a exclusão para a sincronização (a própria pessoa é a "dona" do registro)
+        String sqlExcluido = "INSERT INTO Registro_Excluido (tabela, id_excluido, id_dono) " +
+                "SELECT 'Pessoa', id_pessoa, id_pessoa FROM Pessoa WHERE id_pessoa = ?";
+        jdbcTemplate.update(sqlExcluido, id);
+
         String sql = "DELETE FROM Pessoa WHERE id_pessoa = ?";
         int affectedRows = jdbcTemplate.update(sql, id);
         return affectedRows > 0;
     }
 
+    // Helper (RowMapper) para converter o ResultSet em objeto Pessoa
+    private Pessoa mapRowToPessoa(ResultSet rs, int rowNum) throws SQLException {
+        Pessoa p = new Pessoa(
+                rs.getInt("id_pessoa"),
+                rs.getString("nome"),
+                rs.getString("cpf"),
+                rs.getString("email")
+        );
+        p.setSenha(rs.getString("senha")); // Puxa a senha (criptografada) do banco
+        return p;
+    }
+
     @Override
     public Pessoa buscarPorId(int id) {
         String sql = "SELECT * FROM Pessoa WHERE id_pessoa = ?";
 
         try {
-            return jdbcTemplate.queryForObject(sql, new Object[]{id}, (rs, rowNum) -> {
-                Pessoa p = new Pessoa(
-                        rs.getInt("id_pessoa"),
-                        rs.getString("nome"),
-                        rs.getString("cpf"),
-                        rs.getString("email")
-                );
-                p.setSenha(rs.getString("senha")); // Puxa a senha do banco
-                return p;
-            });
+            return jdbcTemplate.queryForObject(sql, new Object[]{id}, this::mapRowToPessoa);
+        } catch (EmptyResultDataAccessException e) {
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Pessoa não encontrada: id={}", id);
+            return null;
         } catch (Exception e) {
-            System.err.println("Pessoa não encontrada: " + e.getMessage());
+            log.error("Erro ao buscar pessoa: id={}", id, e);
             return null;
         }
     }
 
+    @Override
+    public Pessoa buscarSeAlterada(int id, Instant desde) {
+        String sql = "SELECT * FROM Pessoa WHERE id_pessoa = ? AND atualizado_em > ?";
+
+        List<Pessoa> pessoas = jdbcTemplate.query(sql, new Object[]{id, Timestamp.from(desde)}, this::mapRowToPessoa);
+        return pessoas.isEmpty() ? null : pessoas.get(0);
+    }
+
     @Override
     public List<Pessoa> listarTodos() {
         String sql = "SELECT * FROM Pessoa";
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Pessoa p = new Pessoa(
-                    rs.getInt("id_pessoa"),
-                    rs.getString("nome"),
-                    rs.getString("cpf"),
-                    rs.getString("email")
-            );
-            p.setSenha(rs.getString("senha")); // Puxa a senha do banco
-            return p;
-        });
+        return jdbcTemplate.query(sql, this::mapRowToPessoa);
+    }
+
+    @Override
+    public List<Pessoa> listarPagina(int depoisDe, int limite) {
+        String sql = "SELECT * FROM Pessoa WHERE id_pessoa > ? ORDER BY id_pessoa LIMIT ?";
+
+        return jdbcTemplate.query(sql, new Object[]{depoisDe, limite}, this::mapRowToPessoa);
+    }
+
+    @Override
+    public void exportarTodos(Consumer<Pessoa> consumidor) {
+        String sql = "SELECT * FROM Pessoa ORDER BY id_pessoa";
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Integer.MIN_VALUE faz o driver do MySQL entregar as linhas uma a uma (streaming)
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            return stmt;
+        }, (RowCallbackHandler) rs -> consumidor.accept(mapRowToPessoa(rs, rs.getRow())));
     }
 
     // --- MÉTODO DE LOGIN ATUALIZADO ---
@@ -142,19 +186,13 @@ public class PessoaDAO implements IPessoaDAO {
         String sql = "SELECT * FROM Pessoa WHERE email = ?";
         try {
             // RowMapper completo que também busca a senha
-            return jdbcTemplate.queryForObject(sql, new Object[]{email}, (rs, rowNum) -> {
-                Pessoa p = new Pessoa(
-                        rs.getInt("id_pessoa"),
-                        rs.getString("nome"),
-                        rs.getString("cpf"),
-                        rs.getString("email")
-                );
-                // --- IMPORTANTE ---
-                p.setSenha(rs.getString("senha")); // Puxa a senha (criptografada) do banco
-                return p;
-            });
+            return jdbcTemplate.queryForObject(sql, new Object[]{email}, this::mapRowToPessoa);
+        } catch (EmptyResultDataAccessException e) {
+            // O e-mail não vai para o log (dado pessoal)
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Pessoa não encontrada pelo e-mail");
+            return null;
         } catch (Exception e) {
-            System.err.println("Pessoa não encontrada com o e-mail: " + email);
+            log.error("Erro ao buscar pessoa pelo e-mail", e);
             return null;
         }
     }
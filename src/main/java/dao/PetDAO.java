@@ -2,19 +2,29 @@ package dao;
 
 import model.AnimalDeServico;
 import model.Pet;
+import model.ResultadoLote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementação do DAO para Pet, agora usando Spring Boot e JdbcTemplate.
@@ -22,11 +32,19 @@ import java.util.List;
 @Repository
 public class PetDAO implements IPetDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(PetDAO.class);
+
+    // Só o ID volta como chave gerada: sem isso o H2 devolve também a coluna atualizado_em
+    // (preenchida pelo banco) e o keyHolder.getKey() falha com "multiple keys"
+    private static final String[] COLUNAS_CHAVE = {"id_pet"};
+
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate; // Usado nas inserções em lote
 
     @Autowired
-    public PetDAO(JdbcTemplate jdbcTemplate) {
+    public PetDAO(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
     }
 
     // Cole isto dentro do seu PetDAO.java, substituindo o método salvar() antigo
@@ -39,7 +57,7 @@ public class PetDAO implements IPetDAO {
 
         // 1. Salvar o Pet
         jdbcTemplate.update(connection -> {
-            PreparedStatement stmt = connection.prepareStatement(sqlPet, Statement.RETURN_GENERATED_KEYS);
+            PreparedStatement stmt = connection.prepareStatement(sqlPet, COLUNAS_CHAVE);
             stmt.setString(1, pet.getNome());
             stmt.setString(2, pet.getEspecie());
             stmt.setString(3, pet.getRaca());
@@ -70,18 +88,90 @@ public class PetDAO implements IPetDAO {
 
         // 3. Salvar Especialização (AnimalDeServico)
         if (pet instanceof AnimalDeServico) {
-            System.out.println("Salvando dados do Animal de Serviço...");
             String sqlAnimalServico = "INSERT INTO Animal_de_Servico (id_pet, numero_registro_oficial, status) VALUES (?, ?, ?)";
             AnimalDeServico as = (AnimalDeServico) pet;
             jdbcTemplate.update(sqlAnimalServico, idPet, as.getNumeroRegistroOficial(), as.getStatus());
         }
 
-        System.out.println("Pet e relações salvas com sucesso!");
+        log.debug("Pet e relações salvas: id={}", idPet);
         return pet;
     }
 
     @Override
+    public ResultadoLote salvarEmLote(List<Pet> pets) {
+        return InsercaoEmLote.executar(pets, transactionTemplate,
+                pet -> pet.getIdDonoTransporte() > 0 ? null : "ID do Dono é inválido, não é possível salvar a relação.",
+                this::inserirBloco,
+                Pet::getIdPet);
+    }
+
+    /**
+     * Insere um bloco de pets com INSERTs em lote (Pet, Possui e Animal_de_Servico).
+     * Deve rodar dentro de uma transação. Os IDs gerados voltam na mesma ordem do bloco.
+     */
+    private void inserirBloco(List<Pet> bloco) {
+        String sqlPet = "INSERT INTO Pet (nome, especie, raca, data_nasc) VALUES (?, ?, ?, ?)";
+
+        // 1. Salvar os Pets em lote e ler os IDs gerados
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(sqlPet, COLUNAS_CHAVE)) {
+                for (Pet pet : bloco) {
+                    stmt.setString(1, pet.getNome());
+                    stmt.setString(2, pet.getEspecie());
+                    stmt.setString(3, pet.getRaca());
+                    if (pet.getDataNascimento() != null) {
+                        stmt.setDate(4, java.sql.Date.valueOf(pet.getDataNascimento()));
+                    } else {
+                        stmt.setNull(4, java.sql.Types.DATE);
+                    }
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                try (ResultSet chaves = stmt.getGeneratedKeys()) {
+                    int i = 0;
+                    while (chaves.next() && i < bloco.size()) {
+                        bloco.get(i++).setIdPet(chaves.getInt(1));
+                    }
+                    if (i != bloco.size()) {
+                        throw new SQLException("O banco devolveu " + i + " IDs para " + bloco.size() + " pets.");
+                    }
+                }
+            }
+            return null;
+        });
+
+        // 2. Salvar as ligações na tabela Possui
+        String sqlPossui = "INSERT INTO Possui (id_dono, id_pet) VALUES (?, ?)";
+        jdbcTemplate.batchUpdate(sqlPossui, bloco, bloco.size(), (stmt, pet) -> {
+            stmt.setInt(1, pet.getIdDonoTransporte());
+            stmt.setInt(2, pet.getIdPet());
+        });
+
+        // 3. Salvar as Especializações (AnimalDeServico)
+        List<AnimalDeServico> animaisServico = new ArrayList<>();
+        for (Pet pet : bloco) {
+            if (pet instanceof AnimalDeServico) {
+                animaisServico.add((AnimalDeServico) pet);
+            }
+        }
+        if (!animaisServico.isEmpty()) {
+            String sqlAnimalServico = "INSERT INTO Animal_de_Servico (id_pet, numero_registro_oficial, status) VALUES (?, ?, ?)";
+            jdbcTemplate.batchUpdate(sqlAnimalServico, animaisServico, animaisServico.size(), (stmt, as) -> {
+                stmt.setInt(1, as.getIdPet());
+                stmt.setString(2, as.getNumeroRegistroOficial());
+                stmt.setString(3, as.getStatus());
+            });
+        }
+    }
+
+    @Override
+    @Transactional
     public boolean atualizar(Pet pet) {
+        // Cobertura vacinal: se a espécie muda, os certificados do pet passam para a nova espécie
+        int gruposAntigos = DeltaCobertura.subtrair(jdbcTemplate,
+                "c.id_pet = ? AND COALESCE(p.especie, '') <> COALESCE(?, '')", pet.getIdPet(), pet.getEspecie());
+
         String sql = "UPDATE Pet SET nome = ?, especie = ?, raca = ?, data_nasc = ? WHERE id_pet = ?";
 
         int affectedRows = jdbcTemplate.update(sql,
@@ -92,55 +182,79 @@ public class PetDAO implements IPetDAO {
                 pet.getIdPet()
         );
 
+        if (gruposAntigos > 0) {
+            DeltaCobertura.somar(jdbcTemplate, "c.id_pet = ?", pet.getIdPet());
+        }
+
         // TODO: Adicionar lógica para atualizar AnimalDeServico
 
         return affectedRows > 0;
     }
 
     @Override
+    @Transactional
     public boolean deletar(int id) {
+        // Registra a exclusão para a sincronização dos donos (antes do DELETE, que apaga a linha de Possui)
+        // Certificados e credenciais do pet saem junto no app, sem registro próprio.
+        String sqlExcluido = "INSERT INTO Registro_Excluido (tabela, id_excluido, id_dono) " +
+                "SELECT 'Pet', id_pet, id_dono FROM Possui WHERE id_pet = ?";
+        jdbcTemplate.update(sqlExcluido, id);
+
+        // Os certificados saem junto (cascade): tira-os da cobertura vacinal antes
+        DeltaCobertura.subtrair(jdbcTemplate, "c.id_pet = ?", id);
+
         // Graças ao 'ON DELETE CASCADE', só precisamos deletar da tabela Pet.
         String sql = "DELETE FROM Pet WHERE id_pet = ?";
         int affectedRows = jdbcTemplate.update(sql, id);
         return affectedRows > 0;
     }
 
+    /**
+     * SELECT base usado por todas as consultas de Pet.
+     * O LEFT JOIN com Animal_de_Servico traz a especialização na mesma linha,
+     * evitando uma consulta extra por pet dentro do RowMapper.
+     */
+    private static final String SQL_SELECT_PET = "SELECT p.*, po.id_dono, " +
+            "a.id_pet AS id_pet_servico, a.numero_registro_oficial, a.status " +
+            "FROM Pet p " +
+            "JOIN Possui po ON p.id_pet = po.id_pet " +
+            "LEFT JOIN Animal_de_Servico a ON a.id_pet = p.id_pet";
+
     /**
      * Esta classe interna (RowMapper) ensina o Spring a converter
      * uma linha do ResultSet (do banco) em um objeto Pet ou AnimalDeServico.
+     * A decisão é feita pelas colunas do LEFT JOIN, sem novas idas ao banco.
      */
     private static final class PetRowMapper implements RowMapper<Pet> {
         @Override
         public Pet mapRow(ResultSet rs, int rowNum) throws SQLException {
-            // Primeiro, verifica se este Pet é um Animal de Serviço
-            String sqlCheckServico = "SELECT numero_registro_oficial, status FROM Animal_de_Servico WHERE id_pet = ?";
-
             Pet pet;
-            try (PreparedStatement stmtCheck = rs.getStatement().getConnection().prepareStatement(sqlCheckServico)) {
-                stmtCheck.setInt(1, rs.getInt("p.id_pet"));
-                try (ResultSet rsServico = stmtCheck.executeQuery()) {
-                    if (rsServico.next()) {
-                        // É um Animal de Serviço
-                        AnimalDeServico as = new AnimalDeServico();
-                        as.setNumeroRegistroOficial(rsServico.getString("numero_registro_oficial"));
-                        as.setStatus(rsServico.getString("status"));
-                        pet = as;
-                    } else {
-                        // É um Pet Comum
-                        pet = new Pet();
-                    }
-                }
+            // Se o LEFT JOIN encontrou linha em Animal_de_Servico, é um Animal de Serviço
+            rs.getInt("id_pet_servico");
+            if (!rs.wasNull()) {
+                AnimalDeServico as = new AnimalDeServico();
+                as.setNumeroRegistroOficial(rs.getString("numero_registro_oficial"));
+                as.setStatus(rs.getString("status"));
+                pet = as;
+            } else {
+                // É um Pet Comum
+                pet = new Pet();
             }
 
             // Popula os dados comuns do Pet
-            pet.setIdPet(rs.getInt("p.id_pet"));
-            pet.setNome(rs.getString("p.nome"));
-            pet.setEspecie(rs.getString("p.especie"));
-            pet.setRaca(rs.getString("p.raca"));
-            pet.setDataNascimento(rs.getDate("p.data_nasc").toLocalDate());
+            pet.setIdPet(rs.getInt("id_pet"));
+            pet.setNome(rs.getString("nome"));
+            pet.setEspecie(rs.getString("especie"));
+            pet.setRaca(rs.getString("raca"));
+
+            // data_nasc pode ser NULL (o salvar() permite)
+            java.sql.Date dataNasc = rs.getDate("data_nasc");
+            if (dataNasc != null) {
+                pet.setDataNascimento(dataNasc.toLocalDate());
+            }
 
             // Pega o ID do Dono da tabela Possui
-            pet.setIdDonoTransporte(rs.getInt("po.id_dono"));
+            pet.setIdDonoTransporte(rs.getInt("id_dono"));
 
             return pet;
         }
@@ -148,36 +262,67 @@ public class PetDAO implements IPetDAO {
 
     @Override
     public Pet buscarPorId(int id) {
-        // SQL complexo que junta Pet (p) e Possui (po)
-        String sql = "SELECT p.*, po.id_dono " +
-                "FROM Pet p " +
-                "JOIN Possui po ON p.id_pet = po.id_pet " +
-                "WHERE p.id_pet = ?";
+        // SQL que junta Pet (p), Possui (po) e Animal_de_Servico (a) em uma única consulta
+        String sql = SQL_SELECT_PET + " WHERE p.id_pet = ?";
         try {
             return jdbcTemplate.queryForObject(sql, new Object[]{id}, new PetRowMapper());
+        } catch (EmptyResultDataAccessException e) {
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Pet não encontrado: id={}", id);
+            return null;
         } catch (Exception e) {
-            System.err.println("Pet não encontrado: " + e.getMessage());
+            log.error("Erro ao buscar pet: id={}", id, e);
             return null;
         }
     }
 
+    @Override
+    public Instant buscarVersao(int id) {
+        // Só a chave primária de Pet: bem mais barato que o SELECT completo com os JOINs
+        String sql = "SELECT atualizado_em FROM Pet WHERE id_pet = ?";
+
+        List<Timestamp> versoes = jdbcTemplate.queryForList(sql, Timestamp.class, id);
+        return versoes.isEmpty() ? null : versoes.get(0).toInstant();
+    }
+
     @Override
     public List<Pet> listarPorDono(int idDono) {
-        String sql = "SELECT p.*, po.id_dono " +
-                "FROM Pet p " +
-                "JOIN Possui po ON p.id_pet = po.id_pet " +
-                "WHERE po.id_dono = ?";
+        String sql = SQL_SELECT_PET + " WHERE po.id_dono = ?";
 
         return jdbcTemplate.query(sql, new Object[]{idDono}, new PetRowMapper());
     }
 
+    @Override
+    public List<Pet> listarAlteradosPorDono(int idDono, Instant desde) {
+        String sql = SQL_SELECT_PET + " WHERE po.id_dono = ? AND p.atualizado_em > ?";
+
+        return jdbcTemplate.query(sql, new Object[]{idDono, Timestamp.from(desde)}, new PetRowMapper());
+    }
+
     @Override
     public List<Pet> listarTodos() {
-        String sql = "SELECT p.*, po.id_dono " +
-                "FROM Pet p " +
-                "JOIN Possui po ON p.id_pet = po.id_pet";
+        String sql = SQL_SELECT_PET;
 
         return jdbcTemplate.query(sql, new PetRowMapper());
     }
-}
 
+    @Override
+    public List<Pet> listarPagina(int depoisDe, int limite) {
+        // Paginação por cursor: usa o índice da chave primária, sem OFFSET
+        String sql = SQL_SELECT_PET + " WHERE p.id_pet > ? ORDER BY p.id_pet LIMIT ?";
+
+        return jdbcTemplate.query(sql, new Object[]{depoisDe, limite}, new PetRowMapper());
+    }
+
+    @Override
+    public void exportarTodos(Consumer<Pet> consumidor) {
+        String sql = SQL_SELECT_PET + " ORDER BY p.id_pet";
+        PetRowMapper mapper = new PetRowMapper();
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Integer.MIN_VALUE faz o driver do MySQL entregar as linhas uma a uma (streaming)
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            return stmt;
+        }, (RowCallbackHandler) rs -> consumidor.accept(mapper.mapRow(rs, rs.getRow())));
+    }
+}
@@ -0,0 +1,56 @@
+package dao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cria e guarda os caches de leitura usados pelos DAOs, para que os
+ * contadores de todos possam ser consultados em um só lugar.
+ * O tamanho máximo e o TTL vêm do application.properties.
+ */
+@Component
+public class RegistroCaches {
+
+    private final int tamanhoMaximo;
+    private final long ttlMillis;
+    private final Map<String, CacheLeitura<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public RegistroCaches(@Value("${app.cache.catalogos.tamanho-maximo:1000}") int tamanhoMaximo,
+                          @Value("${app.cache.catalogos.ttl-segundos:300}") long ttlSegundos) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlMillis = ttlSegundos * 1000L;
+    }
+
+    /**
+     * Cria um novo cache com a configuração padrão dos catálogos.
+     * @param nome O nome do cache (aparece nas estatísticas).
+     */
+    public <K, V> CacheLeitura<K, V> criar(String nome) {
+        CacheLeitura<K, V> cache = new CacheLeitura<>(nome, tamanhoMaximo, ttlMillis);
+        caches.put(nome, cache);
+        return cache;
+    }
+
+    /**
+     * Retorna todos os caches criados (usado pelas métricas).
+     */
+    public Collection<CacheLeitura<?, ?>> listar() {
+        return caches.values();
+    }
+
+    /**
+     * Retorna os contadores de cada cache, pelo nome.
+     */
+    public Map<String, Map<String, Long>> estatisticas() {
+        Map<String, Map<String, Long>> todas = new LinkedHashMap<>();
+        caches.values().stream()
+                .sorted((a, b) -> a.getNome().compareTo(b.getNome()))
+                .forEach(cache -> todas.put(cache.getNome(), cache.estatisticas()));
+        return todas;
+    }
+}
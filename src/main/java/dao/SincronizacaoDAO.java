@@ -0,0 +1,44 @@
+package dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação do DAO de apoio à sincronização incremental, usando JdbcTemplate.
+ * As exclusões são gravadas em Registro_Excluido pelo deletar() de cada DAO.
+ */
+@Repository
+public class SincronizacaoDAO implements ISincronizacaoDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SincronizacaoDAO(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Instant agora() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP(6)", Timestamp.class).toInstant();
+    }
+
+    @Override
+    public Map<String, List<Integer>> listarExclusoes(int idDono, Instant desde) {
+        String sql = "SELECT tabela, id_excluido FROM Registro_Excluido " +
+                "WHERE id_dono = ? AND excluido_em > ? ORDER BY excluido_em";
+
+        Map<String, List<Integer>> exclusoes = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, new Object[]{idDono, Timestamp.from(desde)}, (RowCallbackHandler) rs ->
+                exclusoes.computeIfAbsent(rs.getString("tabela"), t -> new ArrayList<>()).add(rs.getInt("id_excluido")));
+        return exclusoes;
+    }
+}
@@ -1,7 +1,10 @@
 package dao;
 
 import model.Treinador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -19,6 +22,8 @@ import java.util.List;
 @Repository
 public class TreinadorDAO implements ITreinadorDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(TreinadorDAO.class);
+
     private final JdbcTemplate jdbcTemplate;
 
     @Autowired
@@ -40,7 +45,7 @@ public class TreinadorDAO implements ITreinadorDAO {
         }, keyHolder);
 
         treinador.setIdTreinador(keyHolder.getKey().intValue());
-        System.out.println("Treinador salvo com sucesso!");
+        log.debug("Treinador salvo: id={}", treinador.getIdTreinador());
         return treinador;
     }
 
@@ -80,8 +85,11 @@ public class TreinadorDAO implements ITreinadorDAO {
         String sql = "SELECT * FROM Treinador WHERE id_treinador = ?";
         try {
             return jdbcTemplate.queryForObject(sql, new Object[]{id}, this::mapRowToTreinador);
+        } catch (EmptyResultDataAccessException e) {
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Treinador não encontrado: id={}", id);
+            return null;
         } catch (Exception e) {
-            System.err.println("Treinador não encontrado: " + e.getMessage());
+            log.error("Erro ao buscar treinador: id={}", id, e);
             return null;
         }
     }
@@ -92,9 +100,19 @@ public class TreinadorDAO implements ITreinadorDAO {
         try {
             return jdbcTemplate.query(sql, this::mapRowToTreinador);
         } catch (Exception e) {
-            System.err.println("Erro ao listar treinadores: " + e.getMessage());
+            log.error("Erro ao listar treinadores", e);
             return java.util.Collections.emptyList();
         }
     }
-}
 
+    @Override
+    public List<Treinador> listarPagina(int depoisDe, int limite) {
+        String sql = "SELECT * FROM Treinador WHERE id_treinador > ? ORDER BY id_treinador LIMIT ?";
+        try {
+            return jdbcTemplate.query(sql, new Object[]{depoisDe, limite}, this::mapRowToTreinador);
+        } catch (Exception e) {
+            log.error("Erro ao listar treinadores", e);
+            return java.util.Collections.emptyList();
+        }
+    }
+}
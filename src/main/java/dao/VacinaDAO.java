@@ -1,13 +1,19 @@
 package dao;
 
 import model.Vacina;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 
@@ -17,14 +23,29 @@ import java.util.List;
 @Repository
 public class VacinaDAO implements IVacinaDAO {
 
+    private static final Logger log = LoggerFactory.getLogger(VacinaDAO.class);
+
+    // Chave única usada para guardar o catálogo completo no cache
+    private static final String CHAVE_CATALOGO = "todos";
+
+    // Nome da tabela em Versao_Tabela
+    private static final String TABELA = "Vacina";
+
     private final JdbcTemplate jdbcTemplate;
 
+    // Caches em memória: o catálogo muda pouco e é lido o tempo todo
+    private final CacheLeitura<Integer, Vacina> cachePorId;
+    private final CacheLeitura<String, CatalogoVersionado<Vacina>> cacheCatalogo;
+
     @Autowired
-    public VacinaDAO(JdbcTemplate jdbcTemplate) {
+    public VacinaDAO(JdbcTemplate jdbcTemplate, RegistroCaches registroCaches) {
         this.jdbcTemplate = jdbcTemplate;
+        this.cachePorId = registroCaches.criar("vacinas");
+        this.cacheCatalogo = registroCaches.criar("vacinas-catalogo");
     }
 
     @Override
+    @Transactional
     public Vacina salvar(Vacina vacina) {
         String sql = "INSERT INTO Vacina (nome_vacina, tipo) VALUES (?, ?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
@@ -37,11 +58,16 @@ public class VacinaDAO implements IVacinaDAO {
         }, keyHolder);
 
         vacina.setIdVacina(keyHolder.getKey().intValue());
-        System.out.println("Vacina salva com sucesso!");
+        VersaoTabela.incrementar(jdbcTemplate, TABELA);
+        // Só depois do commit: antes dele, uma leitura do catálogo ainda veria o banco antigo
+        // e o guardaria no cache (com o ETag da versão nova) até o TTL
+        DepoisDoCommit.executar(cacheCatalogo::invalidarTudo);
+        log.debug("Vacina salva: id={}", vacina.getIdVacina());
         return vacina;
     }
 
     @Override
+    @Transactional
     public boolean atualizar(Vacina vacina) {
         String sql = "UPDATE Vacina SET nome_vacina = ?, tipo = ? WHERE id_vacina = ?";
 
@@ -50,45 +76,90 @@ public class VacinaDAO implements IVacinaDAO {
                 vacina.getTipo(),
                 vacina.getIdVacina()
         );
+        if (affectedRows > 0) {
+            VersaoTabela.incrementar(jdbcTemplate, TABELA);
+        }
+
+        DepoisDoCommit.executar(() -> {
+            cachePorId.invalidar(vacina.getIdVacina());
+            cacheCatalogo.invalidarTudo();
+        });
 
         return affectedRows > 0;
     }
 
     @Override
+    @Transactional
     public boolean deletar(int id) {
         String sql = "DELETE FROM Vacina WHERE id_vacina = ?";
         int affectedRows = jdbcTemplate.update(sql, id);
+        if (affectedRows > 0) {
+            VersaoTabela.incrementar(jdbcTemplate, TABELA);
+        }
+
+        DepoisDoCommit.executar(() -> {
+            cachePorId.invalidar(id);
+            cacheCatalogo.invalidarTudo();
+        });
+
         return affectedRows > 0;
     }
 
+    // Helper (RowMapper) para converter o ResultSet em objeto Vacina
+    private Vacina mapRowToVacina(ResultSet rs, int rowNum) throws SQLException {
+        Vacina vacina = new Vacina();
+        vacina.setIdVacina(rs.getInt("id_vacina"));
+        vacina.setNomeVacina(rs.getString("nome_vacina"));
+        vacina.setTipo(rs.getString("tipo"));
+        return vacina;
+    }
+
     @Override
     public Vacina buscarPorId(int id) {
+        return cachePorId.obter(id, this::buscarNoBanco);
+    }
+
+    private Vacina buscarNoBanco(int id) {
         String sql = "SELECT * FROM Vacina WHERE id_vacina = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, new Object[]{id}, (rs, rowNum) -> {
-                Vacina vacina = new Vacina();
-                vacina.setIdVacina(rs.getInt("id_vacina"));
-                vacina.setNomeVacina(rs.getString("nome_vacina"));
-                vacina.setTipo(rs.getString("tipo"));
-                return vacina;
-            });
+            return jdbcTemplate.queryForObject(sql, new Object[]{id}, this::mapRowToVacina);
+        } catch (EmptyResultDataAccessException e) {
+            log.info(MarcadoresLog.NAO_ENCONTRADO, "Vacina não encontrada: id={}", id);
+            return null;
         } catch (Exception e) {
-            System.err.println("Vacina não encontrada: " + e.getMessage());
+            log.error("Erro ao buscar vacina: id={}", id, e);
             return null;
         }
     }
 
     @Override
     public List<Vacina> listarTodos() {
+        return catalogo().getItens();
+    }
+
+    @Override
+    public long versaoCatalogo() {
+        return catalogo().getVersao();
+    }
+
+    private CatalogoVersionado<Vacina> catalogo() {
+        return cacheCatalogo.obter(CHAVE_CATALOGO, chave -> listarNoBanco());
+    }
+
+    private CatalogoVersionado<Vacina> listarNoBanco() {
+        // A versão é lida antes da lista: se houver uma escrita no meio, o app recebe uma versão
+        // mais antiga que a lista (e baixa tudo de novo na próxima vez), nunca o contrário
+        long versao = VersaoTabela.ler(jdbcTemplate, TABELA);
         String sql = "SELECT * FROM Vacina";
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Vacina vacina = new Vacina();
-            vacina.setIdVacina(rs.getInt("id_vacina"));
-            vacina.setNomeVacina(rs.getString("nome_vacina"));
-            vacina.setTipo(rs.getString("tipo"));
-            return vacina;
-        });
+        return new CatalogoVersionado<>(versao, jdbcTemplate.query(sql, this::mapRowToVacina));
+    }
+
+    @Override
+    public List<Vacina> listarPagina(int depoisDe, int limite) {
+        String sql = "SELECT * FROM Vacina WHERE id_vacina > ? ORDER BY id_vacina LIMIT ?";
+
+        return jdbcTemplate.query(sql, new Object[]{depoisDe, limite}, this::mapRowToVacina);
     }
 }
 
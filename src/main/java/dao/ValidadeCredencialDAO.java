@@ -0,0 +1,193 @@
+package dao;
+
+import model.AnimalDeServico;
+import model.BlocoCredenciais;
+import model.CredencialServico;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementação do DAO da varredura de validade das credenciais, usando JdbcTemplate.
+ * A varredura usa o índice (data_validade, id_credencial) como cursor (keyset):
+ * cada bloco é uma faixa do índice, lida e atualizada em uma transação curta.
+ * Os avisos (vencidas e a vencer) vão para a tabela de saída Aviso_Credencial na mesma transação.
+ */
+@Repository
+public class ValidadeCredencialDAO implements IValidadeCredencialDAO {
+
+    // Nome do processo em Checkpoint_Processo
+    private static final String PROCESSO = "validade-credenciais";
+
+    // Valores da coluna Aviso_Credencial.tipo
+    private static final String AVISO_VENCIDA = "VENCIDA";
+    private static final String AVISO_A_VENCER = "A_VENCER";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate; // Uma transação curta por bloco
+
+    @Autowired
+    public ValidadeCredencialDAO(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public BlocoCredenciais processarProximoBloco(LocalDate hoje, LocalDate inicio, LocalDate fimAviso, int tamanhoBloco) {
+        return transactionTemplate.execute(status -> {
+            CheckpointProcesso checkpoint = CheckpointProcesso.bloquear(jdbcTemplate, PROCESSO, hoje);
+            if (checkpoint.isConcluido()) {
+                return BlocoCredenciais.VAZIO;
+            }
+
+            // Depois da última chave processada, ou desde o início da janela no primeiro bloco do dia
+            String depoisDoCursor;
+            List<Object> parametros = new ArrayList<>();
+            if (checkpoint.temCursor()) {
+                depoisDoCursor = "(cs.data_validade > ? OR (cs.data_validade = ? AND cs.id_credencial > ?))";
+                parametros.add(Date.valueOf(checkpoint.getCursorData()));
+                parametros.add(Date.valueOf(checkpoint.getCursorData()));
+                parametros.add(checkpoint.getCursorId());
+            } else {
+                depoisDoCursor = "cs.data_validade >= ?";
+                parametros.add(Date.valueOf(inicio));
+            }
+            parametros.add(Date.valueOf(fimAviso));
+            parametros.add(tamanhoBloco);
+
+            // 1. Lê o bloco. A maior validade do animal (índice id_animal_servico, data_validade)
+            //    diz se a credencial é a mais recente ou se já foi renovada.
+            String sqlBloco = "SELECT cs.id_credencial, cs.data_validade, cs.id_animal_servico, " +
+                    "(SELECT MAX(v.data_validade) FROM Credencial_Servico v WHERE v.id_animal_servico = cs.id_animal_servico) AS maior_validade " +
+                    "FROM Credencial_Servico cs " +
+                    "WHERE " + depoisDoCursor + " AND cs.data_validade <= ? " +
+                    "ORDER BY cs.data_validade, cs.id_credencial LIMIT ?";
+
+            List<CredencialServico> lidas = new ArrayList<>();
+            Set<Integer> ultimas = new HashSet<>(); // IDs das credenciais que são a mais recente do animal
+            jdbcTemplate.query(sqlBloco, parametros.toArray(), (RowCallbackHandler) rs -> {
+                CredencialServico credencial = new CredencialServico();
+                credencial.setIdCredencial(rs.getInt("id_credencial"));
+                credencial.setDataValidade(rs.getDate("data_validade").toLocalDate());
+                credencial.setIdAnimalServico(rs.getInt("id_animal_servico"));
+                lidas.add(credencial);
+                if (rs.getDate("maior_validade").toLocalDate().equals(credencial.getDataValidade())) {
+                    ultimas.add(credencial.getIdCredencial());
+                }
+            });
+
+            if (lidas.isEmpty()) {
+                checkpoint.concluir(jdbcTemplate);
+                return BlocoCredenciais.VAZIO;
+            }
+
+            // 2. Separa as vencidas (última credencial do animal, validade antes de hoje) e as a vencer
+            Map<Integer, CredencialServico> vencidasPorAnimal = new LinkedHashMap<>();
+            List<CredencialServico> aVencer = new ArrayList<>();
+            for (CredencialServico credencial : lidas) {
+                if (!ultimas.contains(credencial.getIdCredencial())) {
+                    continue; // Já renovada
+                }
+                if (credencial.getDataValidade().isBefore(hoje)) {
+                    vencidasPorAnimal.putIfAbsent(credencial.getIdAnimalServico(), credencial);
+                } else {
+                    aVencer.add(credencial);
+                }
+            }
+
+            // 3. Atualiza o status dos animais em lote (um UPDATE para o bloco)
+            List<CredencialServico> vencidas = new ArrayList<>();
+            if (!vencidasPorAnimal.isEmpty()) {
+                for (Integer idAnimal : marcarVencidos(vencidasPorAnimal.keySet(), hoje)) {
+                    vencidas.add(vencidasPorAnimal.get(idAnimal));
+                }
+            }
+
+            // 4. Grava os avisos na outbox: confirmados junto com os status, então uma queda
+            //    depois do commit não perde aviso, e um rollback não deixa aviso sem mudança de status
+            gravarAvisos(vencidas, aVencer, hoje);
+
+            // 5. Avança o checkpoint (confirmado junto com os status e os avisos)
+            CredencialServico ultima = lidas.get(lidas.size() - 1);
+            checkpoint.avancar(jdbcTemplate, ultima.getDataValidade(), ultima.getIdCredencial());
+            return new BlocoCredenciais(lidas.size(), vencidas, aVencer);
+        });
+    }
+
+    /**
+     * Grava os avisos do bloco em Aviso_Credencial, um INSERT ... SELECT por tipo.
+     * O NOT EXISTS pula as credenciais já avisadas com a mesma validade (a chave única é a garantia final):
+     * uma credencial a vencer aparece em todas as varreduras do prazo de aviso, mas só gera um aviso.
+     */
+    private void gravarAvisos(List<CredencialServico> vencidas, List<CredencialServico> aVencer, LocalDate hoje) {
+        gravarAvisos(AVISO_VENCIDA, vencidas, hoje);
+        gravarAvisos(AVISO_A_VENCER, aVencer, hoje);
+    }
+
+    private void gravarAvisos(String tipo, List<CredencialServico> credenciais, LocalDate hoje) {
+        if (credenciais.isEmpty()) {
+            return;
+        }
+        List<Object> parametros = new ArrayList<>(credenciais.size() + 1);
+        parametros.add(Date.valueOf(hoje));
+        for (CredencialServico credencial : credenciais) {
+            parametros.add(credencial.getIdCredencial());
+        }
+        // O tipo é uma das constantes AVISO_*, não vem de fora
+        String sql = "INSERT INTO Aviso_Credencial (tipo, id_credencial, data_validade, id_animal_servico, dia_varredura) " +
+                "SELECT '" + tipo + "', cs.id_credencial, cs.data_validade, cs.id_animal_servico, CAST(? AS DATE) " +
+                "FROM Credencial_Servico cs " +
+                "WHERE cs.id_credencial IN (" + ConsultaEmBlocos.marcadores(credenciais.size()) + ") " +
+                "AND NOT EXISTS (SELECT 1 FROM Aviso_Credencial a WHERE a.id_credencial = cs.id_credencial " +
+                "AND a.tipo = '" + tipo + "' AND a.data_validade = cs.data_validade)";
+        jdbcTemplate.update(sql, parametros.toArray());
+    }
+
+    /**
+     * Passa para 'Credencial Vencida' os animais que ainda não estão nesse status (nem aposentados)
+     * e continuam sem credencial válida (ninguém renovou durante a varredura).
+     * @return Os IDs dos animais que mudaram de status.
+     */
+    private Set<Integer> marcarVencidos(Set<Integer> idsAnimais, LocalDate hoje) {
+        String marcadores = ConsultaEmBlocos.marcadores(idsAnimais.size());
+
+        List<Object> parametros = new ArrayList<>(idsAnimais);
+        parametros.add(AnimalDeServico.STATUS_CREDENCIAL_VENCIDA);
+        parametros.add(AnimalDeServico.STATUS_APOSENTADO);
+        parametros.add(Date.valueOf(hoje));
+        // FOR UPDATE: trava os animais até o fim do bloco, para o UPDATE abaixo valer para exatamente estes
+        String sqlAlterar = "SELECT a.id_pet FROM Animal_de_Servico a " +
+                "WHERE a.id_pet IN (" + marcadores + ") " +
+                "AND (a.status IS NULL OR a.status NOT IN (?, ?)) " +
+                "AND NOT EXISTS (SELECT 1 FROM Credencial_Servico v WHERE v.id_animal_servico = a.id_pet AND v.data_validade >= ?) " +
+                "ORDER BY a.id_pet FOR UPDATE";
+        Set<Integer> alterar = new LinkedHashSet<>(jdbcTemplate.queryForList(sqlAlterar, Integer.class, parametros.toArray()));
+        if (alterar.isEmpty()) {
+            return alterar;
+        }
+
+        String marcadoresAlterar = ConsultaEmBlocos.marcadores(alterar.size());
+        List<Object> parametrosStatus = new ArrayList<>();
+        parametrosStatus.add(AnimalDeServico.STATUS_CREDENCIAL_VENCIDA);
+        parametrosStatus.addAll(alterar);
+        jdbcTemplate.update("UPDATE Animal_de_Servico SET status = ? WHERE id_pet IN (" + marcadoresAlterar + ")",
+                parametrosStatus.toArray());
+
+        // O status faz parte do Pet no app: atualiza o 'atualizado_em' (sincronização e ETag)
+        jdbcTemplate.update("UPDATE Pet SET atualizado_em = CURRENT_TIMESTAMP(6) WHERE id_pet IN (" + marcadoresAlterar + ")",
+                alterar.toArray());
+        return alterar;
+    }
+}
@@ -0,0 +1,38 @@
+package dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Lógica comum das versões dos catálogos (tabela Versao_Tabela).
+ * O DAO incrementa a versão na mesma transação da escrita, e a versão lida
+ * junto com o catálogo vira o ETag do endpoint de listagem.
+ */
+final class VersaoTabela {
+
+    private VersaoTabela() {
+    }
+
+    /**
+     * Incrementa a versão da tabela. Deve ser chamado dentro da transação da escrita.
+     */
+    static void incrementar(JdbcTemplate jdbcTemplate, String tabela) {
+        jdbcTemplate.update("UPDATE Versao_Tabela SET versao = versao + 1 WHERE tabela = ?", tabela);
+    }
+
+    /**
+     * Incrementa a versão da tabela e retorna a nova versão. Deve ser chamado dentro da
+     * transação da escrita: a linha fica bloqueada até o commit, então a versão lida é a desta escrita.
+     */
+    static long incrementarELer(JdbcTemplate jdbcTemplate, String tabela) {
+        incrementar(jdbcTemplate, tabela);
+        return ler(jdbcTemplate, tabela);
+    }
+
+    /**
+     * Lê a versão atual da tabela.
+     */
+    static long ler(JdbcTemplate jdbcTemplate, String tabela) {
+        return jdbcTemplate.queryForObject("SELECT versao FROM Versao_Tabela WHERE tabela = ?",
+                new Object[]{tabela}, Long.class);
+    }
+}
@@ -8,8 +8,13 @@ import java.time.LocalDate;
  */
 public class AnimalDeServico extends Pet {
 
+    // Status usados pelas regras de validade da credencial (VarreduraCredenciais, CredencialServicoDAO)
+    public static final String STATUS_ATIVO = "Ativo";
+    public static final String STATUS_APOSENTADO = "Aposentado";
+    public static final String STATUS_CREDENCIAL_VENCIDA = "Credencial Vencida";
+
     private String numeroRegistroOficial;
-    private String status; // Ex: 'Ativo', 'Em Treinamento', 'Aposentado'
+    private String status; // Ex: 'Ativo', 'Em Treinamento', 'Aposentado', 'Credencial Vencida'
 
     // Construtor
     public AnimalDeServico() {
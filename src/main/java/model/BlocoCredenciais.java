@@ -0,0 +1,42 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe de Modelo (POJO) com o resultado de um bloco da varredura de validade
+ * das credenciais (VarreduraCredenciais).
+ * Um bloco vazio (nada lido) indica que a varredura terminou.
+ */
+public class BlocoCredenciais {
+
+    public static final BlocoCredenciais VAZIO = new BlocoCredenciais(0, Collections.emptyList(), Collections.emptyList());
+
+    private final int lidas;
+    private final List<CredencialServico> vencidas;  // Animal passou para 'Credencial Vencida' neste bloco
+    private final List<CredencialServico> aVencer;   // Última credencial do animal, vence dentro do aviso
+
+    // Construtor
+    public BlocoCredenciais(int lidas, List<CredencialServico> vencidas, List<CredencialServico> aVencer) {
+        this.lidas = lidas;
+        this.vencidas = vencidas;
+        this.aVencer = aVencer;
+    }
+
+    public boolean isVazio() {
+        return lidas == 0;
+    }
+
+    // Getters
+    public int getLidas() {
+        return lidas;
+    }
+
+    public List<CredencialServico> getVencidas() {
+        return vencidas;
+    }
+
+    public List<CredencialServico> getAVencer() {
+        return aVencer;
+    }
+}
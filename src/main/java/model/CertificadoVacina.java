@@ -1,5 +1,7 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonView;
+
 import java.time.LocalDate;
 
 /**
@@ -14,6 +16,7 @@ public class CertificadoVacina {
     private LocalDate proximaDose;
 
     // Chaves Estrangeiras
+    @JsonView(Visoes.Completo.class) // Redundante no histórico de um pet (visão Resumo)
     private int idPet;
     private int idVacina;
     private int idVeterinario;
@@ -14,6 +14,9 @@ public class Clinica {
     private String bairro;
     private String cidade;
     private String cep;
+    // Coordenadas (graus decimais); preenchidas pelo CEP quando não informadas, nulas se o CEP é desconhecido
+    private Double latitude;
+    private Double longitude;
 
     // Construtor padrão (usado pelo DAO)
     public Clinica() {
@@ -97,6 +100,22 @@ public class Clinica {
         this.cep = cep;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     @Override
     public String toString() {
         return "Clinica{" +
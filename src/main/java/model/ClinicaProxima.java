@@ -0,0 +1,27 @@
+package model;
+
+/**
+ * Classe de Modelo (POJO) com uma clínica da busca por proximidade
+ * (GET /api/clinicas/proximas) e a distância até o ponto informado.
+ */
+public class ClinicaProxima {
+
+    private final Clinica clinica;
+    private final double distanciaKm;
+
+    // Construtor
+    public ClinicaProxima(Clinica clinica, double distanciaKm) {
+        this.clinica = clinica;
+        this.distanciaKm = distanciaKm;
+    }
+
+    // Getters
+    public Clinica getClinica() {
+        return clinica;
+    }
+
+    // Distância em linha reta (sobre a superfície da Terra), em quilômetros
+    public double getDistanciaKm() {
+        return distanciaKm;
+    }
+}
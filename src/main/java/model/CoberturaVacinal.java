@@ -0,0 +1,60 @@
+package model;
+
+/**
+ * Classe de Modelo (POJO) com uma linha da cobertura vacinal (GET /api/analises/cobertura):
+ * quantos certificados de uma vacina foram emitidos para pets de uma espécie, em clínicas de uma cidade.
+ */
+public class CoberturaVacinal {
+
+    private int idVacina;
+    private String nomeVacina;
+    private String especie; // null quando o pet não tem espécie cadastrada
+    private String cidade;  // null quando a clínica não tem cidade cadastrada
+    private long certificados;
+
+    // Construtor padrão (usado pelo DAO)
+    public CoberturaVacinal() {
+    }
+
+    // --- Getters e Setters ---
+
+    public int getIdVacina() {
+        return idVacina;
+    }
+
+    public void setIdVacina(int idVacina) {
+        this.idVacina = idVacina;
+    }
+
+    public String getNomeVacina() {
+        return nomeVacina;
+    }
+
+    public void setNomeVacina(String nomeVacina) {
+        this.nomeVacina = nomeVacina;
+    }
+
+    public String getEspecie() {
+        return especie;
+    }
+
+    public void setEspecie(String especie) {
+        this.especie = especie;
+    }
+
+    public String getCidade() {
+        return cidade;
+    }
+
+    public void setCidade(String cidade) {
+        this.cidade = cidade;
+    }
+
+    public long getCertificados() {
+        return certificados;
+    }
+
+    public void setCertificados(long certificados) {
+        this.certificados = certificados;
+    }
+}
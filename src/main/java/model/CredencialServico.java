@@ -1,5 +1,7 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonView;
+
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,7 @@ public class CredencialServico {
     private LocalDate dataValidade;
 
     // Chaves Estrangeiras (IDs)
+    @JsonView(Visoes.Completo.class) // Redundante na busca pelo animal (visão Resumo)
     private int idAnimalServico; // (FK para Animal_de_Servico)
     private int idTreinador;     // (FK para Treinador)
 
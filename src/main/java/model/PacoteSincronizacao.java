@@ -0,0 +1,65 @@
+package model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe de Modelo (POJO) com as alterações de um dono desde a última sincronização
+ * do app (GET /api/sync?since=...).
+ *
+ * O app guarda o 'token' e o envia na próxima chamada. Os registros podem vir
+ * repetidos em duas sincronizações seguidas (veja SincronizacaoController), então
+ * o app deve gravá-los sobrescrevendo (upsert) pelo ID.
+ */
+public class PacoteSincronizacao {
+
+    private final String token;
+    private final boolean completo;        // true se o app não enviou token (primeira sincronização)
+    private final Pessoa pessoa;           // null se os dados da pessoa não mudaram
+    private final List<Pet> pets;
+    private final List<CertificadoVacina> certificados;
+    private final List<CredencialServico> credenciais;
+    private final Map<String, List<Integer>> excluidos; // Tabela -> IDs excluídos
+
+    // Construtor
+    public PacoteSincronizacao(String token, boolean completo, Pessoa pessoa, List<Pet> pets,
+                               List<CertificadoVacina> certificados, List<CredencialServico> credenciais,
+                               Map<String, List<Integer>> excluidos) {
+        this.token = token;
+        this.completo = completo;
+        this.pessoa = pessoa;
+        this.pets = pets;
+        this.certificados = certificados;
+        this.credenciais = credenciais;
+        this.excluidos = excluidos;
+    }
+
+    // Getters
+    public String getToken() {
+        return token;
+    }
+
+    public boolean isCompleto() {
+        return completo;
+    }
+
+    public Pessoa getPessoa() {
+        return pessoa;
+    }
+
+    public List<Pet> getPets() {
+        return pets;
+    }
+
+    public List<CertificadoVacina> getCertificados() {
+        return certificados;
+    }
+
+    public List<CredencialServico> getCredenciais() {
+        return credenciais;
+    }
+
+    public Map<String, List<Integer>> getExcluidos() {
+        return excluidos;
+    }
+}
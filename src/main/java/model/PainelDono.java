@@ -0,0 +1,62 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe de Modelo (POJO) com tudo que a tela inicial do app mostra para um dono
+ * (GET /api/donos/{id}/painel): os pets, o histórico de vacinas de cada um e,
+ * para animais de serviço, as credenciais.
+ * Montado com poucas consultas em conjunto (IN), nunca uma consulta por pet.
+ */
+public class PainelDono {
+
+    private final int idDono;
+    private final List<PetPainel> pets = new ArrayList<>();
+
+    // Construtor
+    public PainelDono(int idDono) {
+        this.idDono = idDono;
+    }
+
+    public void adicionarPet(PetPainel pet) {
+        pets.add(pet);
+    }
+
+    // Getters
+    public int getIdDono() {
+        return idDono;
+    }
+
+    public List<PetPainel> getPets() {
+        return pets;
+    }
+
+    /**
+     * Um pet do painel, com seus certificados e credenciais.
+     */
+    public static class PetPainel {
+
+        private final Pet pet;
+        private final List<CertificadoVacina> certificados;    // Em ordem de aplicação
+        private final List<CredencialServico> credenciais;     // Vazia se não for animal de serviço
+
+        public PetPainel(Pet pet, List<CertificadoVacina> certificados, List<CredencialServico> credenciais) {
+            this.pet = pet;
+            this.certificados = certificados;
+            this.credenciais = credenciais;
+        }
+
+        public Pet getPet() {
+            return pet;
+        }
+
+        public List<CertificadoVacina> getCertificados() {
+            return certificados;
+        }
+
+        public List<CredencialServico> getCredenciais() {
+            return credenciais;
+        }
+    }
+}
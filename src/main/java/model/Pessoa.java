@@ -1,5 +1,8 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,9 +16,12 @@ public class Pessoa {
     private String nome;
     private String cpf;
     private String email;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY) // Lista vazia não vai para o JSON
     private List<String> telefones; // Para o atributo multivalorado
 
     // --- NOVO CAMPO ADICIONADO ---
+    // Só é lida do JSON (cadastro e login): o hash nunca volta nas respostas
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String senha;
 
     // Construtor padrão
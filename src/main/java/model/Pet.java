@@ -1,5 +1,7 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonView;
+
 import java.time.LocalDate;
 
 /**
@@ -20,7 +22,9 @@ public class Pet {
      * Este campo será usado APENAS para transporte, não para o banco.
      * O main.java usa o setIdDonoTransporte() para passar o ID do dono,
      * e o PetDAO usa o getIdDonoTransporte() para salvá-lo na tabela 'Possui'.
+     * Fica fora da visão Resumo (listagem por dono, painel), onde o dono já é conhecido.
      */
+    @JsonView(Visoes.Completo.class)
     private int idDonoTransporte;
 
     // Construtores
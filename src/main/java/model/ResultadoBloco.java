@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * Classe de Modelo (POJO) com o resultado de um bloco de uma tarefa em segundo plano
+ * (lembretes de vacina, validade de credenciais): quantos registros o bloco leu
+ * e quantos gerou ou alterou.
+ * Um bloco vazio (nada lido) indica que a varredura terminou.
+ */
+public class ResultadoBloco {
+
+    public static final ResultadoBloco VAZIO = new ResultadoBloco(0, 0);
+
+    private final int lidos;
+    private final int afetados;
+
+    // Construtor
+    public ResultadoBloco(int lidos, int afetados) {
+        this.lidos = lidos;
+        this.afetados = afetados;
+    }
+
+    public boolean isVazio() {
+        return lidos == 0;
+    }
+
+    // Getters
+    public int getLidos() {
+        return lidos;
+    }
+
+    public int getAfetados() {
+        return afetados;
+    }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe de Modelo (POJO) que representa o resultado de uma inserção em lote
+ * (POST /api/pets/bulk, POST /api/certificados/bulk).
+ * Cada item enviado tem uma posição na lista 'itens', na mesma ordem do envio,
+ * com o ID gerado ou a mensagem de erro daquele item.
+ */
+public class ResultadoLote {
+
+    private int recebidos;
+    private int salvos;
+    private int comErro;
+    private final Item[] itens;
+
+    // Construtor
+    public ResultadoLote(int recebidos) {
+        this.recebidos = recebidos;
+        this.itens = new Item[recebidos];
+    }
+
+    /**
+     * Registra que o item da posição 'indice' foi salvo com o ID gerado.
+     */
+    public void registrarSucesso(int indice, int id) {
+        itens[indice] = new Item(indice, id, null);
+        salvos++;
+    }
+
+    /**
+     * Registra que o item da posição 'indice' não foi salvo, e o motivo.
+     */
+    public void registrarErro(int indice, String erro) {
+        itens[indice] = new Item(indice, null, erro);
+        comErro++;
+    }
+
+    // Getters
+    public int getRecebidos() {
+        return recebidos;
+    }
+
+    public int getSalvos() {
+        return salvos;
+    }
+
+    public int getComErro() {
+        return comErro;
+    }
+
+    public List<Item> getItens() {
+        return new ArrayList<>(Arrays.asList(itens));
+    }
+
+    /**
+     * O resultado de um único item do lote.
+     */
+    public static class Item {
+
+        private final int indice;
+        private final Integer id;   // ID gerado (null se deu erro)
+        private final String erro;  // Motivo do erro, mensagem fixa sem detalhes do banco (null se foi salvo)
+
+        public Item(int indice, Integer id, String erro) {
+            this.indice = indice;
+            this.id = id;
+            this.erro = erro;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getErro() {
+            return erro;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote{" +
+                "recebidos=" + recebidos +
+                ", salvos=" + salvos +
+                ", comErro=" + comErro +
+                '}';
+    }
+}
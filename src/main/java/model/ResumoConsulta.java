@@ -0,0 +1,53 @@
+package model;
+
+/**
+ * Classe de Modelo (POJO) com as estatísticas de um tipo de comando SQL
+ * (GET /api/admin/consultas).
+ * O 'fingerprint' é o SQL sem os valores literais, então todas as execuções
+ * do mesmo comando (com parâmetros diferentes) são somadas juntas.
+ */
+public class ResumoConsulta {
+
+    private final String fingerprint;
+    private final long execucoes;
+    private final double tempoTotalMs;
+    private final double tempoMedioMs;
+    private final double tempoMaximoMs;
+    private final double p95Ms;
+
+    // Construtor
+    public ResumoConsulta(String fingerprint, long execucoes, double tempoTotalMs,
+                          double tempoMaximoMs, double p95Ms) {
+        this.fingerprint = fingerprint;
+        this.execucoes = execucoes;
+        this.tempoTotalMs = tempoTotalMs;
+        this.tempoMedioMs = (execucoes == 0) ? 0 : tempoTotalMs / execucoes;
+        this.tempoMaximoMs = tempoMaximoMs;
+        this.p95Ms = p95Ms;
+    }
+
+    // Getters
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getExecucoes() {
+        return execucoes;
+    }
+
+    public double getTempoTotalMs() {
+        return tempoTotalMs;
+    }
+
+    public double getTempoMedioMs() {
+        return tempoMedioMs;
+    }
+
+    public double getTempoMaximoMs() {
+        return tempoMaximoMs;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+}
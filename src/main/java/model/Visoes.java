@@ -0,0 +1,25 @@
+package model;
+
+/**
+ * Visões (@JsonView) usadas para enxugar o JSON de alguns endpoints.
+ * Campos sem @JsonView aparecem em todas as visões; um campo marcado com
+ * Completo some quando o endpoint usa a visão Resumo.
+ */
+public final class Visoes {
+
+    private Visoes() {
+    }
+
+    /**
+     * Listagens em que alguns campos são redundantes
+     * (ex: o ID do dono em GET /api/pets/dono/{idDono}).
+     */
+    public interface Resumo {
+    }
+
+    /**
+     * Todos os campos (inclui os de Resumo).
+     */
+    public interface Completo extends Resumo {
+    }
+}
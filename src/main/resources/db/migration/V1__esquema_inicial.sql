@@ -0,0 +1,127 @@
+-- =====================================================================
+-- V1: Esquema inicial do banco MeuAssistentePet
+-- Tabelas usadas pelos DAOs (pacote dao). Usa IF NOT EXISTS para que
+-- bancos criados antes das migrações (à mão) possam adotar o Flyway.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS Pessoa (
+    id_pessoa INT          NOT NULL AUTO_INCREMENT,
+    nome      VARCHAR(100) NOT NULL,
+    cpf       VARCHAR(14),
+    email     VARCHAR(150) NOT NULL,
+    senha     VARCHAR(100),
+    PRIMARY KEY (id_pessoa)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Pessoa_Telefone (
+    id_pessoa INT         NOT NULL,
+    telefone  VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id_pessoa, telefone),
+    CONSTRAINT fk_telefone_pessoa FOREIGN KEY (id_pessoa) REFERENCES Pessoa (id_pessoa) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Dono (
+    id_pessoa INT NOT NULL,
+    PRIMARY KEY (id_pessoa),
+    CONSTRAINT fk_dono_pessoa FOREIGN KEY (id_pessoa) REFERENCES Pessoa (id_pessoa) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Veterinario (
+    id_pessoa INT         NOT NULL,
+    CRMV      VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id_pessoa),
+    CONSTRAINT fk_veterinario_pessoa FOREIGN KEY (id_pessoa) REFERENCES Pessoa (id_pessoa) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Pet (
+    id_pet    INT          NOT NULL AUTO_INCREMENT,
+    nome      VARCHAR(100) NOT NULL,
+    especie   VARCHAR(50),
+    raca      VARCHAR(50),
+    data_nasc DATE,
+    PRIMARY KEY (id_pet)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Possui (
+    id_dono INT NOT NULL,
+    id_pet  INT NOT NULL,
+    PRIMARY KEY (id_dono, id_pet),
+    CONSTRAINT fk_possui_dono FOREIGN KEY (id_dono) REFERENCES Dono (id_pessoa) ON DELETE CASCADE,
+    CONSTRAINT fk_possui_pet FOREIGN KEY (id_pet) REFERENCES Pet (id_pet) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Animal_de_Servico (
+    id_pet                  INT         NOT NULL,
+    numero_registro_oficial VARCHAR(50),
+    status                  VARCHAR(30),
+    PRIMARY KEY (id_pet),
+    CONSTRAINT fk_animal_servico_pet FOREIGN KEY (id_pet) REFERENCES Pet (id_pet) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Vacina (
+    id_vacina   INT          NOT NULL AUTO_INCREMENT,
+    nome_vacina VARCHAR(100) NOT NULL,
+    tipo        VARCHAR(50),
+    PRIMARY KEY (id_vacina)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Clinica (
+    id_clinica INT          NOT NULL AUTO_INCREMENT,
+    nome       VARCHAR(150) NOT NULL,
+    email      VARCHAR(150),
+    rua        VARCHAR(150),
+    numero     VARCHAR(10),
+    bairro     VARCHAR(100),
+    cidade     VARCHAR(100),
+    CEP        VARCHAR(9),
+    PRIMARY KEY (id_clinica)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS CertificadoVacina (
+    id_certificado_vac INT  NOT NULL AUTO_INCREMENT,
+    data_aplicacao     DATE NOT NULL,
+    lote               VARCHAR(50),
+    proxima_dose       DATE,
+    id_pet             INT  NOT NULL,
+    id_vacina          INT  NOT NULL,
+    id_veterinario     INT  NOT NULL,
+    id_clinica         INT  NOT NULL,
+    PRIMARY KEY (id_certificado_vac),
+    CONSTRAINT fk_certificado_pet FOREIGN KEY (id_pet) REFERENCES Pet (id_pet) ON DELETE CASCADE,
+    CONSTRAINT fk_certificado_vacina FOREIGN KEY (id_vacina) REFERENCES Vacina (id_vacina),
+    CONSTRAINT fk_certificado_veterinario FOREIGN KEY (id_veterinario) REFERENCES Veterinario (id_pessoa),
+    CONSTRAINT fk_certificado_clinica FOREIGN KEY (id_clinica) REFERENCES Clinica (id_clinica)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Treinador (
+    id_treinador                     INT          NOT NULL AUTO_INCREMENT,
+    nome                             VARCHAR(100) NOT NULL,
+    cpf                              VARCHAR(14),
+    numero_certificacao_profissional VARCHAR(50),
+    PRIMARY KEY (id_treinador)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Habilidade (
+    id_habilidade        INT          NOT NULL AUTO_INCREMENT,
+    descricao_habilidade VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id_habilidade)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Credencial_Servico (
+    id_credencial     INT  NOT NULL AUTO_INCREMENT,
+    data_emissao      DATE NOT NULL,
+    data_validade     DATE NOT NULL,
+    id_animal_servico INT  NOT NULL,
+    id_treinador      INT  NOT NULL,
+    PRIMARY KEY (id_credencial),
+    CONSTRAINT fk_credencial_animal FOREIGN KEY (id_animal_servico) REFERENCES Animal_de_Servico (id_pet) ON DELETE CASCADE,
+    CONSTRAINT fk_credencial_treinador FOREIGN KEY (id_treinador) REFERENCES Treinador (id_treinador)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Credencial_Habilidade (
+    id_credencial INT NOT NULL,
+    id_habilidade INT NOT NULL,
+    PRIMARY KEY (id_credencial, id_habilidade),
+    CONSTRAINT fk_cred_hab_credencial FOREIGN KEY (id_credencial) REFERENCES Credencial_Servico (id_credencial) ON DELETE CASCADE,
+    CONSTRAINT fk_cred_hab_habilidade FOREIGN KEY (id_habilidade) REFERENCES Habilidade (id_habilidade)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
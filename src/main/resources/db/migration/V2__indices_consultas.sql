@@ -0,0 +1,24 @@
+-- =====================================================================
+-- V2: Índices para os padrões de consulta dos DAOs
+-- Ficam em uma migração separada para que bancos antigos (onde a V1 não
+-- recriou as tabelas) também recebam os índices.
+-- =====================================================================
+
+-- PessoaDAO.buscarPorEmail (login): WHERE email = ?
+CREATE UNIQUE INDEX uk_pessoa_email ON Pessoa (email);
+
+-- PetDAO.buscarPorId / listarTodos / listarPagina: JOIN Possui po ON p.id_pet = po.id_pet
+-- (PetDAO.listarPorDono usa a chave primária (id_dono, id_pet) de Possui)
+-- Cobre o JOIN pelo lado do pet, já trazendo o id_dono sem ler a tabela.
+CREATE INDEX idx_possui_pet_dono ON Possui (id_pet, id_dono);
+
+-- CertificadoVacinaDAO.listarPorPet: WHERE id_pet = ?
+-- Inclui a data para devolver o histórico já na ordem de aplicação.
+CREATE INDEX idx_certificado_pet_data ON CertificadoVacina (id_pet, data_aplicacao);
+
+-- CredencialServicoDAO.buscarPorAnimalId: WHERE id_animal_servico = ? ORDER BY data_validade DESC
+CREATE INDEX idx_credencial_animal_validade ON Credencial_Servico (id_animal_servico, data_validade);
+
+-- CredencialServicoDAO: LEFT JOIN Habilidade a partir de Credencial_Habilidade
+-- (o lado da credencial usa a chave primária (id_credencial, id_habilidade))
+CREATE INDEX idx_cred_hab_habilidade ON Credencial_Habilidade (id_habilidade, id_credencial);
@@ -0,0 +1,38 @@
+-- =====================================================================
+-- V3: Rastreio de alterações para a sincronização incremental (GET /api/sync)
+-- Cada tabela sincronizada ganha 'atualizado_em', preenchida pelo próprio
+-- banco no INSERT e no UPDATE. As exclusões ficam registradas em
+-- Registro_Excluido, já com o dono a quem a linha pertencia.
+-- =====================================================================
+
+ALTER TABLE Pessoa
+    ADD COLUMN atualizado_em TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) NOT NULL;
+
+ALTER TABLE Pet
+    ADD COLUMN atualizado_em TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) NOT NULL;
+
+ALTER TABLE CertificadoVacina
+    ADD COLUMN atualizado_em TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) NOT NULL;
+
+ALTER TABLE Credencial_Servico
+    ADD COLUMN atualizado_em TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) NOT NULL;
+
+-- Linhas excluídas (tombstones). Sem chave estrangeira: o dono também pode ter sido excluído.
+CREATE TABLE IF NOT EXISTS Registro_Excluido (
+    id_registro_excluido BIGINT       NOT NULL AUTO_INCREMENT,
+    tabela               VARCHAR(40)  NOT NULL,
+    id_excluido          INT          NOT NULL,
+    id_dono              INT          NOT NULL,
+    excluido_em          TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id_registro_excluido)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- SincronizacaoDAO.listarExclusoes: WHERE id_dono = ? AND excluido_em > ?
+CREATE INDEX idx_excluido_dono_data ON Registro_Excluido (id_dono, excluido_em);
+
+-- CertificadoVacinaDAO.listarAlteradosPorDono: JOIN Possui ... WHERE c.atualizado_em > ?
+-- (os pets do dono vêm da chave primária de Possui; aqui é uma faixa por pet)
+CREATE INDEX idx_certificado_pet_atualizado ON CertificadoVacina (id_pet, atualizado_em);
+
+-- CredencialServicoDAO.listarAlteradasPorDono: JOIN Possui ... WHERE cs.atualizado_em > ?
+CREATE INDEX idx_credencial_animal_atualizado ON Credencial_Servico (id_animal_servico, atualizado_em);
@@ -0,0 +1,14 @@
+-- =====================================================================
+-- V4: Versões dos catálogos (Vacina, Clinica, Habilidade)
+-- Cada escrita em um catálogo incrementa a versão dele, na mesma transação.
+-- A versão vira o ETag de GET /api/vacinas, /api/clinicas e /api/habilidades,
+-- e é a mesma em todos os servidores da API.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS Versao_Tabela (
+    tabela VARCHAR(40) NOT NULL,
+    versao BIGINT      NOT NULL,
+    PRIMARY KEY (tabela)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+INSERT INTO Versao_Tabela (tabela, versao) VALUES ('Vacina', 1), ('Clinica', 1), ('Habilidade', 1);
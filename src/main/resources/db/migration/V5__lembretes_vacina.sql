@@ -0,0 +1,42 @@
+-- =====================================================================
+-- V5: Lembretes de reforço de vacina (tarefa MotorLembretes)
+-- A tarefa percorre CertificadoVacina pela faixa de proxima_dose, em blocos,
+-- e grava os lembretes devidos na tabela de saída (outbox) Lembrete_Vacina,
+-- de onde o serviço de notificações os envia.
+-- =====================================================================
+
+-- Varredura por faixa de proxima_dose, com o ID como desempate do cursor (keyset)
+CREATE INDEX idx_certificado_proxima_dose ON CertificadoVacina (proxima_dose, id_certificado_vac);
+
+-- Outbox: um lembrete por certificado, data de reforço e dono.
+-- A chave única garante que o mesmo reforço nunca seja notificado duas vezes,
+-- mesmo se a varredura passar de novo pelo certificado.
+CREATE TABLE IF NOT EXISTS Lembrete_Vacina (
+    id_lembrete        BIGINT       NOT NULL AUTO_INCREMENT,
+    id_certificado_vac INT          NOT NULL,
+    proxima_dose       DATE         NOT NULL,
+    id_pet             INT          NOT NULL,
+    id_dono            INT          NOT NULL,
+    id_vacina          INT          NOT NULL,
+    criado_em          TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL,
+    enviado_em         TIMESTAMP(6) NULL,
+    PRIMARY KEY (id_lembrete),
+    CONSTRAINT uk_lembrete_certificado_dose_dono UNIQUE (id_certificado_vac, proxima_dose, id_dono)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- Serviço de notificações: WHERE enviado_em IS NULL ORDER BY id_lembrete
+CREATE INDEX idx_lembrete_pendente ON Lembrete_Vacina (enviado_em, id_lembrete);
+
+-- Posição (cursor) das tarefas em blocos, para retomar depois de uma queda.
+-- execucao: o dia da varredura em andamento; cursor_data/cursor_id: a última chave processada.
+CREATE TABLE IF NOT EXISTS Checkpoint_Processo (
+    processo      VARCHAR(60)  NOT NULL,
+    execucao      DATE         NULL,
+    cursor_data   DATE         NULL,
+    cursor_id     INT          NULL,
+    concluido     BOOLEAN      DEFAULT FALSE NOT NULL,
+    atualizado_em TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (processo)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+INSERT INTO Checkpoint_Processo (processo) VALUES ('lembretes-vacina');
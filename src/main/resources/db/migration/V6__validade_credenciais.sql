@@ -0,0 +1,8 @@
+-- =====================================================================
+-- V6: Varredura de validade das credenciais (tarefa VarreduraCredenciais)
+-- =====================================================================
+
+-- Varredura por faixa de data_validade, com o ID como desempate do cursor (keyset)
+CREATE INDEX idx_credencial_validade ON Credencial_Servico (data_validade, id_credencial);
+
+INSERT INTO Checkpoint_Processo (processo) VALUES ('validade-credenciais');
@@ -0,0 +1,12 @@
+-- =====================================================================
+-- V7: Coordenadas das clínicas (busca por proximidade, GET /api/clinicas/proximas)
+-- Preenchidas a partir do CEP pela base local de faixas de CEP (geo/faixas-cep.csv),
+-- sem serviço externo. Ficam nulas quando o CEP não está em nenhuma faixa.
+-- As clínicas já cadastradas são preenchidas na partida da API (PreenchimentoCoordenadas).
+-- =====================================================================
+
+ALTER TABLE Clinica
+    ADD COLUMN latitude DECIMAL(9, 6) NULL;
+
+ALTER TABLE Clinica
+    ADD COLUMN longitude DECIMAL(9, 6) NULL;
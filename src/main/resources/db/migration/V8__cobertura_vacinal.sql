@@ -0,0 +1,38 @@
+-- =====================================================================
+-- V8: Cobertura vacinal pré-agregada (GET /api/analises/cobertura)
+-- Certificados por vacina, espécie do pet e cidade da clínica que aplicou.
+-- Os DAOs gravam cada alteração como um delta (+n / -n) em Cobertura_Vacinal_Delta,
+-- na mesma transação da escrita; a tarefa CompactacaoCobertura soma os deltas em
+-- Cobertura_Vacinal. Inserir um delta nunca disputa a linha de um grupo "quente".
+-- A consulta lê só as duas tabelas: O(grupos + deltas pendentes), nunca CertificadoVacina.
+-- Espécie ou cidade desconhecida fica como '' (a chave primária não aceita NULL).
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS Cobertura_Vacinal (
+    id_vacina     INT          NOT NULL,
+    especie       VARCHAR(50)  NOT NULL,
+    cidade        VARCHAR(100) NOT NULL,
+    certificados  BIGINT       NOT NULL,
+    atualizado_em TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id_vacina, especie, cidade)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS Cobertura_Vacinal_Delta (
+    id_delta     BIGINT       NOT NULL AUTO_INCREMENT,
+    id_vacina    INT          NOT NULL,
+    especie      VARCHAR(50)  NOT NULL,
+    cidade       VARCHAR(100) NOT NULL,
+    certificados INT          NOT NULL,
+    PRIMARY KEY (id_delta)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- Carga inicial: o único GROUP BY sobre CertificadoVacina inteira, feito uma vez na migração
+INSERT INTO Cobertura_Vacinal (id_vacina, especie, cidade, certificados)
+SELECT c.id_vacina, COALESCE(p.especie, ''), COALESCE(cl.cidade, ''), COUNT(*)
+FROM CertificadoVacina c
+         JOIN Pet p ON p.id_pet = c.id_pet
+         JOIN Clinica cl ON cl.id_clinica = c.id_clinica
+GROUP BY c.id_vacina, COALESCE(p.especie, ''), COALESCE(cl.cidade, '');
+
+-- A linha do processo serializa a compactação entre servidores (SELECT ... FOR UPDATE)
+INSERT INTO Checkpoint_Processo (processo) VALUES ('cobertura-vacinal');
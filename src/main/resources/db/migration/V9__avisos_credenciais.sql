@@ -0,0 +1,29 @@
+-- =====================================================================
+-- V9: Avisos de validade das credenciais (tarefa VarreduraCredenciais)
+-- A varredura grava os avisos na tabela de saída (outbox) Aviso_Credencial,
+-- na mesma transação do bloco (status do animal e checkpoint), como em
+-- Lembrete_Vacina: uma queda depois do commit não perde nenhum aviso.
+-- O serviço de notificações os envia e preenche enviado_em.
+-- =====================================================================
+
+-- tipo: 'VENCIDA' (o animal passou para 'Credencial Vencida') ou
+--       'A_VENCER' (a credencial mais recente vence dentro do prazo de aviso).
+-- A chave única garante um só aviso de cada tipo por credencial e validade: a varredura
+-- passa pela credencial todos os dias do prazo de aviso, mas o dono é avisado uma vez.
+-- Se a validade da credencial for alterada, o prazo novo gera um aviso novo.
+-- dia_varredura é só o dia em que o aviso foi gerado.
+CREATE TABLE IF NOT EXISTS Aviso_Credencial (
+    id_aviso          BIGINT       NOT NULL AUTO_INCREMENT,
+    tipo              VARCHAR(10)  NOT NULL,
+    id_credencial     INT          NOT NULL,
+    data_validade     DATE         NOT NULL,
+    id_animal_servico INT          NOT NULL,
+    dia_varredura     DATE         NOT NULL,
+    criado_em         TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL,
+    enviado_em        TIMESTAMP(6) NULL,
+    PRIMARY KEY (id_aviso),
+    CONSTRAINT uk_aviso_credencial_tipo UNIQUE (id_credencial, tipo, data_validade)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- Serviço de notificações: WHERE enviado_em IS NULL ORDER BY id_aviso
+CREATE INDEX idx_aviso_credencial_pendente ON Aviso_Credencial (enviado_em, id_aviso);